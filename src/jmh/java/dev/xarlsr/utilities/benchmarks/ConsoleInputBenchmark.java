@@ -0,0 +1,106 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities.benchmarks;
+
+import dev.xarlsr.utilities.ConsoleInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * <b>Per call cost of the static read methods of ConsoleInput.</b><br>
+ * Every call wraps a new stream, as a program reading one value per call does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConsoleInputBenchmark {
+
+    /**
+     * Length of the lines read by readString(), readChar() and readIntegerMaxLength().
+     */
+    @Param({"16", "1024"})
+    public int lineLength;
+
+    private byte[] line;
+    private byte[] digits;
+    private byte[] integer;
+    private byte[] decimal;
+
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lineLength; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        line = (builder + "\n").getBytes(StandardCharsets.US_ASCII);
+        builder.setLength(0);
+        for (int i = 0; i < lineLength; i++) {
+            builder.append((char) ('1' + i % 9));
+        }
+        digits = (builder + "\n").getBytes(StandardCharsets.US_ASCII);
+        integer = "1234567\n".getBytes(StandardCharsets.US_ASCII);
+        decimal = "3.141592653589793\n".getBytes(StandardCharsets.US_ASCII);
+    }
+
+
+    @Benchmark
+    public String readString() {
+        return ConsoleInput.readString(new ByteArrayInputStream(line));
+    }
+
+
+    @Benchmark
+    public String readStringMaxLength() {
+        return ConsoleInput.readString(new ByteArrayInputStream(line), 10);
+    }
+
+
+    @Benchmark
+    public int readInteger() {
+        return ConsoleInput.readInteger(new ByteArrayInputStream(integer));
+    }
+
+
+    @Benchmark
+    public int readIntegerMaxLength() {
+        return ConsoleInput.readInteger(new ByteArrayInputStream(digits), 9);
+    }
+
+
+    @Benchmark
+    public char readChar() {
+        return ConsoleInput.readChar(new ByteArrayInputStream(line));
+    }
+
+
+    @Benchmark
+    public double readDouble() {
+        return ConsoleInput.readDouble(new ByteArrayInputStream(decimal));
+    }
+
+}
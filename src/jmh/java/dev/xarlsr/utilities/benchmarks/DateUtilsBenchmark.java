@@ -0,0 +1,150 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities.benchmarks;
+
+import dev.xarlsr.utilities.DateParseResult;
+import dev.xarlsr.utilities.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * <b>Per call cost of the DateUtils methods, single threaded.</b><br>
+ * Every built-in format and a custom pattern are measured, over a pool of distinct dates
+ * that every thread walks through. See {@link DateUtilsMultiThreadBenchmark} for the same
+ * benchmarks with all the available threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+
+    /**
+     * Format of the dates: the built-in ones and a custom pattern.
+     */
+    @Param({"yyyyMMdd", DateUtils.USA, DateUtils.ESP, DateUtils.ESPS, DateUtils.BNK, DateUtils.BNKS, "dd.MM.yyyy"})
+    public String format;
+
+    /**
+     * Number of distinct dates walked through.
+     */
+    @Param({"1024", "65536"})
+    public int size;
+
+    private String[] dates;
+    private String[] basicDates;
+    private LocalDate[] localDates;
+    private LocalDate start;
+    private LocalDate end;
+
+
+    /**
+     * Index of the next date of every thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next(int size) {
+            index = index + 1 == size ? 0 : index + 1;
+            return index;
+        }
+    }
+
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
+        dates = new String[size];
+        basicDates = new String[size];
+        localDates = new LocalDate[size];
+        for (int i = 0; i < size; i++) {
+            localDates[i] = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(36500));
+            dates[i] = localDates[i].format(formatter);
+            basicDates[i] = localDates[i].format(DateTimeFormatter.BASIC_ISO_DATE);
+        }
+        start = LocalDate.of(1950, 1, 1);
+        end = LocalDate.of(2050, 1, 1);
+    }
+
+
+    @Benchmark
+    public LocalDate stringToDate(Cursor cursor) {
+        return DateUtils.stringToDate(dates[cursor.next(size)], format);
+    }
+
+
+    @Benchmark
+    public LocalDate stringToDateBasic(Cursor cursor) {
+        return DateUtils.stringToDate(basicDates[cursor.next(size)]);
+    }
+
+
+    @Benchmark
+    public DateParseResult parse(Cursor cursor) {
+        return DateUtils.parse(dates[cursor.next(size)], format);
+    }
+
+
+    @Benchmark
+    public String dateToString(Cursor cursor) {
+        return DateUtils.dateToString(localDates[cursor.next(size)], format);
+    }
+
+
+    @Benchmark
+    public String dateToStringBasic(Cursor cursor) {
+        return DateUtils.dateToString(localDates[cursor.next(size)]);
+    }
+
+
+    @Benchmark
+    public String dateFormatChanger(Cursor cursor) throws ParseException {
+        return DateUtils.dateFormatChanger(dates[cursor.next(size)], format, DateUtils.ESP);
+    }
+
+
+    @Benchmark
+    public boolean isValidDate(Cursor cursor) {
+        return DateUtils.isValidDate(dates[cursor.next(size)], format);
+    }
+
+
+    @Benchmark
+    public boolean isValidDateBasic(Cursor cursor) {
+        return DateUtils.isValidDate(basicDates[cursor.next(size)]);
+    }
+
+
+    @Benchmark
+    public LocalDate generateRandomDate() {
+        return DateUtils.generateRandomDate(start, end);
+    }
+
+}
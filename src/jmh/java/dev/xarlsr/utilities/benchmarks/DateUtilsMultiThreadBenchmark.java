@@ -0,0 +1,21 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities.benchmarks;
+
+import org.openjdk.jmh.annotations.Threads;
+
+
+/**
+ * <b>The DateUtils benchmarks run by all the available threads at once.</b><br>
+ * Shows the contention on the state shared by DateUtils, as the formatter cache and the counters.
+ */
+@Threads(Threads.MAX)
+public class DateUtilsMultiThreadBenchmark extends DateUtilsBenchmark {
+}
@@ -0,0 +1,114 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities.benchmarks;
+
+import dev.xarlsr.utilities.InputSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * <b>Throughput of reading a whole numeric input through one InputSession.</b><br>
+ * Compares the line based methods with the token parsers and the bulk readers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InputSessionBenchmark {
+
+    /**
+     * Number of values in the input, one per line.
+     */
+    @Param({"1000", "1000000"})
+    public int values;
+
+    private byte[] integers;
+    private byte[] decimals;
+
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder ints = new StringBuilder();
+        StringBuilder doubles = new StringBuilder();
+        for (int i = 0; i < values; i++) {
+            ints.append(random.nextInt()).append('\n');
+            doubles.append(random.nextInt(1_000_000) / 100.0).append('\n');
+        }
+        integers = ints.toString().getBytes(StandardCharsets.US_ASCII);
+        decimals = doubles.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+
+    @Benchmark
+    public void readIntegerPerLine(Blackhole blackhole) throws IOException {
+        try (InputSession session = new InputSession(new ByteArrayInputStream(integers))) {
+            for (int i = 0; i < values; i++) {
+                blackhole.consume(session.readInteger());
+            }
+        }
+    }
+
+
+    @Benchmark
+    public void nextInt(Blackhole blackhole) throws IOException {
+        try (InputSession session = new InputSession(new ByteArrayInputStream(integers))) {
+            for (int i = 0; i < values; i++) {
+                blackhole.consume(session.nextInt());
+            }
+        }
+    }
+
+
+    @Benchmark
+    public int[] readIntArray() throws IOException {
+        try (InputSession session = new InputSession(new ByteArrayInputStream(integers))) {
+            return session.readIntArray();
+        }
+    }
+
+
+    @Benchmark
+    public void readDoublePerLine(Blackhole blackhole) throws IOException {
+        try (InputSession session = new InputSession(new ByteArrayInputStream(decimals))) {
+            for (int i = 0; i < values; i++) {
+                blackhole.consume(session.readDouble());
+            }
+        }
+    }
+
+
+    @Benchmark
+    public double[] readDoubleArray() throws IOException {
+        try (InputSession session = new InputSession(new ByteArrayInputStream(decimals))) {
+            return session.readDoubleArray();
+        }
+    }
+
+}
@@ -0,0 +1,660 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * <b>Fixed width numeric date formats built into {@link DateUtils}.</b><br>
+ * All of them are made of digits in fixed positions, optionally with a separator
+ * character, so they are parsed by digit arithmetic instead of the general
+ * <code>DateTimeFormatter</code> machinery. {@link DateUtils} uses these parsers
+ * whenever it receives one of its built-in patterns, and falls back to the general
+ * path for any other pattern or for any text the fast parser doesn't accept.<br>
+ * Years are read as two digit years of the 2000s ({@code yy}) or four digit years
+ * from 0001 to 9999 ({@code yyyy}).
+ * @see DateUtils
+ * @since 3.1.0
+ */
+public enum BuiltInFormat {
+
+    /**
+     * Basic ISO format, <code>yyyyMMdd</code>. Default format of {@link DateUtils}.
+     */
+    BASIC_ISO("yyyyMMdd", 0, 4, 6, 4, (char) 0, -1, -1),
+    /**
+     * USA date format, {@link DateUtils#USA}.
+     */
+    USA(DateUtils.USA, 0, 5, 8, 4, '-', 4, 7),
+    /**
+     * Spain date format, {@link DateUtils#ESP}.
+     */
+    ESP(DateUtils.ESP, 6, 3, 0, 4, '/', 2, 5),
+    /**
+     * Spain short date format, {@link DateUtils#ESPS}.
+     */
+    ESPS(DateUtils.ESPS, 6, 3, 0, 2, '/', 2, 5),
+    /**
+     * Spain bank date format, {@link DateUtils#BNK}.
+     */
+    BNK(DateUtils.BNK, 4, 2, 0, 4, (char) 0, -1, -1),
+    /**
+     * Spain short bank date format, {@link DateUtils#BNKS}.
+     */
+    BNKS(DateUtils.BNKS, 4, 2, 0, 2, (char) 0, -1, -1);
+
+    /**
+     * Returned by the parsers when the text is not a valid date in the format.
+     */
+    static final long INVALID = DateUtils.INVALID_EPOCH_DAY;
+
+    /**
+     * Days from 0000-01-01 to 1970-01-01, as in <code>LocalDate</code>.
+     */
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    /**
+     * Epoch days of 0001-01-01 and 9999-12-31, the dates written by digit arithmetic.
+     */
+    static final long FIRST_FORMATTABLE_DAY = -719_162L;
+    static final long LAST_FORMATTABLE_DAY = 2_932_896L;
+
+    private final String pattern;
+    private final int length;
+    private final int yearPosition;
+    private final int monthPosition;
+    private final int dayPosition;
+    private final int yearDigits;
+    private final char separator;
+    private final int firstSeparator;
+    private final int secondSeparator;
+
+
+    BuiltInFormat(String pattern, int yearPosition, int monthPosition, int dayPosition, int yearDigits,
+                  char separator, int firstSeparator, int secondSeparator) {
+        this.pattern = pattern;
+        this.length = pattern.length();
+        this.yearPosition = yearPosition;
+        this.monthPosition = monthPosition;
+        this.dayPosition = dayPosition;
+        this.yearDigits = yearDigits;
+        this.separator = separator;
+        this.firstSeparator = firstSeparator;
+        this.secondSeparator = secondSeparator;
+    }
+
+
+    /**
+     * <b>Returns the <code>DateTimeFormatter</code> pattern of the format.</b>
+     * @return <code>String</code> with the pattern, i.e. {@link DateUtils#ESP}.
+     * @since 3.1.0
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+
+    /**
+     * <b>Returns the length of every date written in this format.</b>
+     * @return Number of characters of the format.
+     * @since 3.1.0
+     */
+    public int length() {
+        return length;
+    }
+
+
+    /**
+     * <b>Returns the built-in format of a pattern.</b><br>
+     * @param pattern <code>String</code> with the pattern.
+     * @return The built-in format, or {@code null} if the pattern is not one of them.
+     * @since 3.1.0
+     */
+    public static BuiltInFormat of(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        switch (pattern) {
+            case "yyyyMMdd":
+                return BASIC_ISO;
+            case DateUtils.USA:
+                return USA;
+            case DateUtils.ESP:
+                return ESP;
+            case DateUtils.ESPS:
+                return ESPS;
+            case DateUtils.BNK:
+                return BNK;
+            case DateUtils.BNKS:
+                return BNKS;
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * <b>Parses a date in this format from a slice of a <code>CharSequence</code>.</b><br>
+     * No object is allocated. Days from 29 to 31 beyond the end of their month are moved to
+     * the last day of the month, as {@link DateUtils#stringToDate(String, String)} does.
+     * @param text Text containing the date.
+     * @param offset Index of the first character of the date.
+     * @param length Number of characters of the date.
+     * @return Epoch day of the date, or {@link DateUtils#INVALID_EPOCH_DAY} if it's not a valid date in this format.
+     * @see java.time.LocalDate#ofEpochDay(long)
+     * @since 3.1.0
+     */
+    public long toEpochDay(CharSequence text, int offset, int length) {
+        return parse(text, offset, length, false);
+    }
+
+
+    /**
+     * <b>Parses a date in this format from a slice of a <code>byte</code> array.</b><br>
+     * The bytes are read as ASCII characters. No object is allocated.
+     * @param bytes Array containing the date.
+     * @param offset Index of the first byte of the date.
+     * @param length Number of bytes of the date.
+     * @return Epoch day of the date, or {@link DateUtils#INVALID_EPOCH_DAY} if it's not a valid date in this format.
+     * @see #toEpochDay(CharSequence, int, int)
+     * @since 3.1.0
+     */
+    public long toEpochDay(byte[] bytes, int offset, int length) {
+        return parse(bytes, offset, length, false);
+    }
+
+
+    /**
+     * <b>Parses a date in this format from a slice of a <code>ByteBuffer</code>.</b><br>
+     * The bytes are read as ASCII characters with absolute gets, so the position of the
+     * buffer is not changed. Works the same with heap, direct and mapped buffers. No object is allocated.
+     * @param buffer Buffer containing the date.
+     * @param offset Index of the first byte of the date.
+     * @param length Number of bytes of the date.
+     * @return Epoch day of the date, or {@link DateUtils#INVALID_EPOCH_DAY} if it's not a valid date in this format.
+     * @see #toEpochDay(CharSequence, int, int)
+     * @since 3.1.0
+     */
+    public long toEpochDay(ByteBuffer buffer, int offset, int length) {
+        return parse(buffer, offset, length, false);
+    }
+
+
+    /**
+     * Parses a date in this format to its epoch day.<br>
+     * With {@code strict} false a day from 29 to 31 beyond the end of its month is moved
+     * to the last day of the month, as the <code>SMART</code> resolver of <code>java.time</code> does.
+     * @param text Text containing the date.
+     * @param offset Index of the first character of the date.
+     * @param length Number of characters of the date.
+     * @param strict true to reject days beyond the end of the month.
+     * @return Epoch day of the date, or {@link #INVALID}.
+     */
+    long parse(CharSequence text, int offset, int length, boolean strict) {
+        if (length != this.length || offset < 0 || offset + length > text.length()) {
+            return INVALID;
+        }
+        if (separator != 0
+                && (text.charAt(offset + firstSeparator) != separator
+                || text.charAt(offset + secondSeparator) != separator)) {
+            return INVALID;
+        }
+        int year = digits(text, offset + yearPosition, yearDigits);
+        int month = digits(text, offset + monthPosition, 2);
+        int day = digits(text, offset + dayPosition, 2);
+        if ((year | month | day) < 0) {
+            return INVALID;
+        }
+        return resolve(yearDigits == 2 ? 2000 + year : year, month, day, strict);
+    }
+
+
+    /**
+     * Parses a date in this format from ASCII bytes.
+     * @see #parse(CharSequence, int, int, boolean)
+     */
+    long parse(byte[] bytes, int offset, int length, boolean strict) {
+        if (length != this.length || offset < 0 || offset + length > bytes.length) {
+            return INVALID;
+        }
+        if (separator != 0
+                && (bytes[offset + firstSeparator] != separator
+                || bytes[offset + secondSeparator] != separator)) {
+            return INVALID;
+        }
+        int year = digits(bytes, offset + yearPosition, yearDigits);
+        int month = digits(bytes, offset + monthPosition, 2);
+        int day = digits(bytes, offset + dayPosition, 2);
+        if ((year | month | day) < 0) {
+            return INVALID;
+        }
+        return resolve(yearDigits == 2 ? 2000 + year : year, month, day, strict);
+    }
+
+
+    /**
+     * Parses a date in this format from the ASCII bytes of a buffer, with absolute gets.
+     * @see #parse(CharSequence, int, int, boolean)
+     */
+    long parse(ByteBuffer buffer, int offset, int length, boolean strict) {
+        if (length != this.length || offset < 0 || offset + length > buffer.limit()) {
+            return INVALID;
+        }
+        if (separator != 0
+                && (buffer.get(offset + firstSeparator) != separator
+                || buffer.get(offset + secondSeparator) != separator)) {
+            return INVALID;
+        }
+        int year = digits(buffer, offset + yearPosition, yearDigits);
+        int month = digits(buffer, offset + monthPosition, 2);
+        int day = digits(buffer, offset + dayPosition, 2);
+        if ((year | month | day) < 0) {
+            return INVALID;
+        }
+        return resolve(yearDigits == 2 ? 2000 + year : year, month, day, strict);
+    }
+
+
+    /**
+     * Finds out why a text is not a valid date in this format. Only called after a parser failed.
+     * @param text Text containing the date.
+     * @param offset Index of the first character of the date.
+     * @param length Number of characters of the date.
+     * @param strict true to reject days beyond the end of the month.
+     * @return Failure with the kind of error and its index, relative to {@code offset}.
+     */
+    DateParseResult diagnose(CharSequence text, int offset, int length, boolean strict) {
+        if (length != this.length || offset < 0 || offset + length > text.length()) {
+            return DateParseResult.failure(DateParseError.WRONG_LENGTH, Math.min(Math.max(length, 0), this.length));
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(offset + i);
+            if (separator != 0 && (i == firstSeparator || i == secondSeparator)) {
+                if (c != separator) {
+                    return DateParseResult.failure(DateParseError.WRONG_SEPARATOR, i);
+                }
+            } else if (c < '0' || c > '9') {
+                return DateParseResult.failure(DateParseError.NOT_A_DIGIT, i);
+            }
+        }
+        int year = digits(text, offset + yearPosition, yearDigits);
+        int month = digits(text, offset + monthPosition, 2);
+        int day = digits(text, offset + dayPosition, 2);
+        if (yearDigits == 2) {
+            year += 2000;
+        }
+        return rangeError(year, month, day, strict, yearPosition, monthPosition, dayPosition);
+    }
+
+
+    /**
+     * Returns the failure of a date with some field out of range.
+     * @return Failure with the kind of error and the index of the wrong field, or null if the date is valid.
+     */
+    static DateParseResult rangeError(long year, long month, long day, boolean strict,
+                                      int yearIndex, int monthIndex, int dayIndex) {
+        if (year < 1 || year > 9999) {
+            return DateParseResult.failure(DateParseError.YEAR_OUT_OF_RANGE, yearIndex);
+        }
+        if (month < 1 || month > 12) {
+            return DateParseResult.failure(DateParseError.MONTH_OUT_OF_RANGE, monthIndex);
+        }
+        if (day < 1 || day > 31 || (strict && day > monthLength((int) year, (int) month))) {
+            return DateParseResult.failure(DateParseError.DAY_OUT_OF_RANGE, dayIndex);
+        }
+        return null;
+    }
+
+
+    /**
+     * Writes a date read in this format into {@code output} format by copying its digits.
+     * The text must have been validated by one of the parsers first.
+     * @param text Valid date in this format.
+     * @param output Format to write the date in.
+     * @param destination Array with at least {@code output.length()} chars.
+     * @param centuryStart Date, 80 years ago, after which the century of two digit years starts,
+     *                     as in <code>SimpleDateFormat</code>.
+     */
+    void remap(CharSequence text, BuiltInFormat output, char[] destination, LocalDate centuryStart) {
+        destination[output.dayPosition] = text.charAt(dayPosition);
+        destination[output.dayPosition + 1] = text.charAt(dayPosition + 1);
+        destination[output.monthPosition] = text.charAt(monthPosition);
+        destination[output.monthPosition + 1] = text.charAt(monthPosition + 1);
+        int from = yearPosition;
+        int to = output.yearPosition;
+        if (yearDigits == 2 && output.yearDigits == 4) {
+            int startYear = centuryStart.getYear();
+            int year = startYear - startYear % 100 + digits(text, from, 2);
+            int monthDay = digits(text, monthPosition, 2) << 5 | digits(text, dayPosition, 2);
+            if (year < startYear || (year == startYear
+                    && monthDay <= (centuryStart.getMonthValue() << 5 | centuryStart.getDayOfMonth()))) {
+                year += 100;
+            }
+            int century = year / 100;
+            destination[to++] = (char) ('0' + century / 10);
+            destination[to++] = (char) ('0' + century % 10);
+        } else if (yearDigits == 4 && output.yearDigits == 2) {
+            from += 2;
+        }
+        for (int i = 0; i < output.yearDigits && i < yearDigits; i++) {
+            destination[to + i] = text.charAt(from + i);
+        }
+        if (output.separator != 0) {
+            destination[output.firstSeparator] = output.separator;
+            destination[output.secondSeparator] = output.separator;
+        }
+    }
+
+
+    /**
+     * Writes the ASCII text of a date in this format, as its {@code DateTimeFormatter} does.
+     * Two digit years are written as the last two digits of the year.
+     * @param epochDay Epoch day of a date of the years 0001 to 9999.
+     * @param destination Array with at least {@link #length()} bytes from {@code offset}.
+     * @param offset Index of the first byte to write.
+     */
+    void format(long epochDay, byte[] destination, int offset) {
+        int date = civil(epochDay);
+        int year = date >>> 9;
+        twoDigits(date & 31, destination, offset + dayPosition);
+        twoDigits((date >>> 5) & 15, destination, offset + monthPosition);
+        if (yearDigits == 4) {
+            twoDigits(year / 100, destination, offset + yearPosition);
+            twoDigits(year % 100, destination, offset + yearPosition + 2);
+        } else {
+            twoDigits(year % 100, destination, offset + yearPosition);
+        }
+        if (separator != 0) {
+            destination[offset + firstSeparator] = (byte) separator;
+            destination[offset + secondSeparator] = (byte) separator;
+        }
+    }
+
+
+    /**
+     * <b>Writes a date in this format into a <code>char</code> array.</b><br>
+     * Nothing is allocated for the dates of the years 0001 to 9999. Other dates are formatted by
+     * the <code>DateTimeFormatter</code> of the pattern, as {@link DateUtils#dateToString(LocalDate, String)} does.
+     * @param epochDay Epoch day of the date.
+     * @param destination Array to write to.
+     * @param offset Index of the first character to write.
+     * @return Number of characters written, {@link #length()} for the years 0001 to 9999.
+     * @throws IndexOutOfBoundsException if the date doesn't fit in the array, which is then not modified.
+     * @since 3.1.0
+     */
+    public int format(long epochDay, char[] destination, int offset) {
+        if (!isFormattable(epochDay)) {
+            String text = formatLocalDate(epochDay);
+            Objects.checkFromIndexSize(offset, text.length(), destination.length);
+            text.getChars(0, text.length(), destination, offset);
+            return text.length();
+        }
+        Objects.checkFromIndexSize(offset, length, destination.length);
+        int date = civil(epochDay);
+        for (int i = 0; i < length; i++) {
+            destination[offset + i] = charAt(date, i);
+        }
+        return length;
+    }
+
+
+    /**
+     * <b>Writes a date in this format into a <code>ByteBuffer</code>, as ASCII bytes.</b><br>
+     * The bytes are written with absolute puts, so the position of the buffer is not changed.
+     * Nothing is allocated for the dates of the years 0001 to 9999.
+     * @param epochDay Epoch day of the date.
+     * @param destination Buffer to write to.
+     * @param offset Index of the first byte to write.
+     * @return Number of bytes written, {@link #length()} for the years 0001 to 9999.
+     * @throws IndexOutOfBoundsException if the date doesn't fit before the limit of the buffer,
+     * which is then not modified.
+     * @see #format(long, char[], int)
+     * @since 3.1.0
+     */
+    public int format(long epochDay, ByteBuffer destination, int offset) {
+        if (!isFormattable(epochDay)) {
+            String text = formatLocalDate(epochDay);
+            Objects.checkFromIndexSize(offset, text.length(), destination.limit());
+            for (int i = 0; i < text.length(); i++) {
+                destination.put(offset + i, (byte) text.charAt(i));
+            }
+            return text.length();
+        }
+        Objects.checkFromIndexSize(offset, length, destination.limit());
+        int date = civil(epochDay);
+        for (int i = 0; i < length; i++) {
+            destination.put(offset + i, (byte) charAt(date, i));
+        }
+        return length;
+    }
+
+
+    /**
+     * <b>Appends a date in this format to an <code>Appendable</code>.</b><br>
+     * The characters are appended one by one, so nothing is allocated for the dates of the years
+     * 0001 to 9999 when appending to a <code>StringBuilder</code> or a buffered writer.
+     * @param epochDay Epoch day of the date.
+     * @param destination <code>StringBuilder</code>, <code>Writer</code> or other <code>Appendable</code>.
+     * @return Number of characters appended, {@link #length()} for the years 0001 to 9999.
+     * @throws IOException if the destination can't be written.
+     * @see #format(long, char[], int)
+     * @since 3.1.0
+     */
+    public int format(long epochDay, Appendable destination) throws IOException {
+        if (!isFormattable(epochDay)) {
+            String text = formatLocalDate(epochDay);
+            destination.append(text);
+            return text.length();
+        }
+        int date = civil(epochDay);
+        for (int i = 0; i < length; i++) {
+            destination.append(charAt(date, i));
+        }
+        return length;
+    }
+
+
+    /**
+     * Returns the character at a position of a date written in this format.
+     * @param date Date packed by {@link #civil(long)}.
+     * @param index Position in the format.
+     */
+    private char charAt(int date, int index) {
+        if (separator != 0 && (index == firstSeparator || index == secondSeparator)) {
+            return separator;
+        }
+        int value;
+        int digit;
+        if (index >= dayPosition && index < dayPosition + 2) {
+            value = date & 31;
+            digit = 1 - (index - dayPosition);
+        } else if (index >= monthPosition && index < monthPosition + 2) {
+            value = (date >>> 5) & 15;
+            digit = 1 - (index - monthPosition);
+        } else {
+            value = date >>> 9;
+            digit = yearDigits - 1 - (index - yearPosition);
+        }
+        for (; digit > 0; digit--) {
+            value /= 10;
+        }
+        return (char) ('0' + value % 10);
+    }
+
+
+    /**
+     * Returns the year, month and day of an epoch day, packed as {@code year << 9 | month << 5 | day}.
+     * The month and day are right for any epoch day; the year only within a few million years.
+     */
+    static int civil(long epochDay) {
+        // Days from 0000-03-01, so the leap day is the last day of the year.
+        long days = epochDay + DAYS_0000_TO_1970 - 60;
+        long era = Math.floorDiv(days, 146097);
+        long dayOfEra = days - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int marchBasedMonth = (int) ((5 * dayOfYear + 2) / 153);
+        int day = (int) (dayOfYear - (153 * marchBasedMonth + 2) / 5 + 1);
+        int month = marchBasedMonth < 10 ? marchBasedMonth + 3 : marchBasedMonth - 9;
+        int year = (int) (era * 400 + yearOfEra) + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+
+    /**
+     * Returns the month of an epoch day, from 1 to 12, without creating a date.
+     */
+    static int month(long epochDay) {
+        return (civil(epochDay) >>> 5) & 15;
+    }
+
+
+    /**
+     * Checks if an epoch day is within the years 0001 to 9999, written by digit arithmetic.
+     */
+    static boolean isFormattable(long epochDay) {
+        return epochDay >= FIRST_FORMATTABLE_DAY && epochDay <= LAST_FORMATTABLE_DAY;
+    }
+
+
+    /**
+     * Formats a date with the <code>DateTimeFormatter</code> of the pattern.
+     */
+    private String formatLocalDate(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).format(DateUtils.formatterCache().get(pattern));
+    }
+
+
+    /**
+     * Writes a number from 0 to 99 as two ASCII digits.
+     */
+    private static void twoDigits(int value, byte[] destination, int index) {
+        destination[index] = (byte) ('0' + value / 10);
+        destination[index + 1] = (byte) ('0' + value % 10);
+    }
+
+
+    /**
+     * Reads {@code count} decimal digits.
+     * @return The read number, or -1 if a character is not a digit.
+     */
+    private static int digits(CharSequence text, int index, int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+
+    /**
+     * Reads {@code count} decimal digits from ASCII bytes.
+     * @return The read number, or -1 if a byte is not a digit.
+     */
+    private static int digits(byte[] bytes, int index, int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+
+    /**
+     * Reads {@code count} decimal digits from the ASCII bytes of a buffer.
+     * @return The read number, or -1 if a byte is not a digit.
+     */
+    private static int digits(ByteBuffer buffer, int index, int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+
+    /**
+     * Checks the ranges of a date and returns its epoch day.
+     * @return Epoch day of the date, or {@link #INVALID}.
+     */
+    static long resolve(int year, int month, int day, boolean strict) {
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return INVALID;
+        }
+        int monthLength = monthLength(year, month);
+        if (day > monthLength) {
+            if (strict) {
+                return INVALID;
+            }
+            day = monthLength;
+        }
+        return epochDay(year, month, day);
+    }
+
+
+    /**
+     * Returns the number of days of a month.
+     */
+    static int monthLength(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeap(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+
+    /**
+     * Checks if a year is a leap year of the ISO proleptic calendar.
+     */
+    static boolean isLeap(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+
+    /**
+     * Returns the epoch day of a valid date of a positive year, as {@code LocalDate.toEpochDay()}.
+     */
+    static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeap(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+}
@@ -16,13 +16,19 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 
 /**
  * Reads and return different data types from keyboard<br>
+ * To read many values from the same stream use an {@link InputSession} instead,
+ * as every static method here wraps the stream in a new reader.
  * @author XarlsR 2022
  * @version 2.3.0
+ * @see InputSession
  */
 public class ConsoleInput {
 
@@ -71,40 +77,102 @@ public class ConsoleInput {
     }
 
 
+    /**
+     * <b>Reads and returns a String from a InputStream object, decoded with a given charset</b><br>
+     * Works as {@link #readString(InputStream)}, but the result doesn't depend on the default
+     * charset of the platform. The line is read by an {@link InputSession} when it supports the
+     * charset, as UTF-8 or ISO-8859, so plain ASCII lines and any line in ISO-8859-1 are converted
+     * straight from their bytes, skipping the charset decoder. Any other charset, as UTF-16, is
+     * decoded by an InputStreamReader.<br>
+     * As {@code readString(InputStream)}, it closes the InputStream after reading unless it's {@code System.in}.
+     * @param inputStream InputStream object which the String will be read from.
+     * @param charset Charset of the InputStream, i.e. {@code StandardCharsets.UTF_8}.
+     * @return Read String, or null if the InputStream is at its end.
+     * @see #readString(InputStream)
+     * @see InputSession#InputSession(InputStream, Charset)
+     * @since 3.1.0
+     */
+    public static String readString(InputStream inputStream, Charset charset) {
+        if (!InputSession.isSupported(charset)) {
+            return readLine(inputStream, charset);
+        }
+        try (InputSession session = new InputSession(inputStream, charset)) {
+            return session.readString();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
+    /**
+     * Reads a line through an InputStreamReader, closing the InputStream unless it's {@code System.in}.
+     */
+    private static String readLine(InputStream inputStream, Charset charset) {
+        try {
+            BufferedReader br = new BufferedReader(new InputStreamReader(inputStream, charset));
+            String string = br.readLine();
+            // ISSUE I001: Avoids to close System.in as it can´t be used anymore after closing.
+            if (inputStream != System.in) {
+                inputStream.close();
+            }
+            return string;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
     /**
      * <b>Reads and returns a String from a InputStream object with a maximum length</b><br>
      * Injecting the InputStream object as a parameter unlinks the reading
-     * procedure (BufferedReader) of the source of the String to read, making
+     * procedure of the source of the String to read, making
      * the method more flexible and easily testable, as keyboard input can be
      * simulated by changing the InputStream from default System.in to any other.<br>
      * The InputStream object is passed via parameter -mandatory- and may be
      * any of the classes of InputStream superclass.
-     * Then it's read by a BufferedReader via readLine() method.<br> After that the length
-     * of the String is checked. If it's longer than {@code maxLength} parameter then
-     * it's truncated prior to return. If not, it's returned as is.
+     * Then it's read by an {@link InputSession} that keeps only the first {@code maxLength}
+     * characters of the line in memory: if the line is longer, the rest of it is skipped as it's
+     * read, so a huge line without terminators doesn't fill the memory. If the default charset of
+     * the platform is not supported by input sessions, as Shift_JIS or GBK, the line is read whole
+     * by an InputStreamReader and then cut.
      * If a console keyboard reading is desired, the passed parameter must be
      * System.in or, as an option, the InputStream object must be set to System.in
-     * at the calling class or method.<br>
+     * at the calling class or method. As {@code readString(InputStream)}, it closes the
+     * InputStream after reading unless it's {@code System.in} (ISSUE I001).<br>
      * Replaces the deprecated readString(int) method.
      * @param inputStream InputStream object which the String will be read from.
-     * @return Read String
+     * @param maxLength Max number of characters of the returned String.
+     * @return Read String, truncated to {@code maxLength} characters if longer, or null if
+     * the InputStream is at its end.
      * @see InputStream
      * @see System#in
-     * @see BufferedReader
+     * @see InputSession#readString(int)
      * @see #readString(int)
      * @author XarlsR 2022
      * @since v2.3.7
      */
     public static String readString(InputStream inputStream, int maxLength){
-        try {
-            BufferedReader br = new BufferedReader(new InputStreamReader(inputStream));
-            String string = (br.readLine());
-            inputStream.close();
-            if (string.length() > maxLength) {
-                return string.substring(0, maxLength);
+        return readString(inputStream, maxLength, Charset.defaultCharset());
+    }
+
+
+    /**
+     * Reads a line of up to {@code maxLength} characters in a charset. Charsets not supported by
+     * input sessions are decoded by an InputStreamReader, and the line is cut after reading it.
+     */
+    static String readString(InputStream inputStream, int maxLength, Charset charset) {
+        if (!InputSession.isSupported(charset)) {
+            if (maxLength < 0) {
+                throw new IllegalArgumentException("Max length can't be negative: " + maxLength);
             }
-            else {return string;}
-        } catch (IOException e) {
+            String line = readLine(inputStream, charset);
+            return line == null || line.length() <= maxLength ? line : line.substring(0, maxLength);
+        }
+        try (InputSession session = new InputSession(inputStream, charset)) {
+            return session.readString(maxLength);
+        } catch (IOException | UncheckedIOException e) {
             e.printStackTrace();
             return null;
         }
@@ -155,6 +223,24 @@ public class ConsoleInput {
     }
 
 
+    /**
+     * <b>Returns a <code>long</code> value read from a InputStream.</b><br>
+     * The value is read via <code>readString(InputStream)</code> method and
+     * parsed to <code>long</code>. In case the entered String wouldn't be a
+     * <code>long</code> number, the method throws a <code>NumberFormatException</code> exception.
+     * @param inputStream InputStream object selected as source to read from. If keyboard is the desired
+     *                    source, default <code>System.in</code> must be passed as parameter.
+     * @return Long (<code>long</code>) read from InputStream.
+     * @throws NumberFormatException If the entered value is not parseable to <code>long</code>.
+     * @since 3.1.0
+     * @see #readString(InputStream)
+     * @see InputSession#nextLong()
+     */
+    public static long readLong(InputStream inputStream) throws NumberFormatException {
+        return Long.parseLong(readString(inputStream));
+    }
+
+
     /**
      * <b>Returns a character (char) read from an InputStream</b><br>
      * The entered value is read by the {@code readString(InputStream)} method and then
@@ -191,6 +277,132 @@ public class ConsoleInput {
     }
 
 
+    /**
+     * <b>Reads up to {@code count} whitespace separated <code>int</code> values from an InputStream.</b><br>
+     * All the values are read in a single buffered pass by an {@link InputSession}, straight
+     * into the returned array. As the other read methods, it closes the InputStream
+     * after reading unless it's {@code System.in}.
+     * @param inputStream InputStream to read the values from.
+     * @param count Number of values to read.
+     * @return Array with the read values. It's shorter than {@code count} if the stream ends before.
+     * @throws NumberFormatException if a read value is not parseable to <code>int</code>.
+     * @since 3.1.0
+     * @see InputSession#readIntArray(int)
+     */
+    public static int[] readIntArray(InputStream inputStream, int count) throws NumberFormatException {
+        try (InputSession session = numberSession(inputStream, Charset.defaultCharset())) {
+            return session.readIntArray(count);
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
+    /**
+     * <b>Reads all the whitespace separated <code>int</code> values of an InputStream.</b><br>
+     * @param inputStream InputStream to read the values from.
+     * @return Array with the read values.
+     * @throws NumberFormatException if a read value is not parseable to <code>int</code>.
+     * @since 3.1.0
+     * @see #readIntArray(InputStream, int)
+     * @see InputSession#readIntArray()
+     */
+    public static int[] readIntArray(InputStream inputStream) throws NumberFormatException {
+        try (InputSession session = numberSession(inputStream, Charset.defaultCharset())) {
+            return session.readIntArray();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
+    /**
+     * <b>Reads up to {@code count} whitespace separated <code>long</code> values from an InputStream.</b><br>
+     * @param inputStream InputStream to read the values from.
+     * @param count Number of values to read.
+     * @return Array with the read values. It's shorter than {@code count} if the stream ends before.
+     * @throws NumberFormatException if a read value is not parseable to <code>long</code>.
+     * @since 3.1.0
+     * @see #readIntArray(InputStream, int)
+     * @see InputSession#readLongArray(int)
+     */
+    public static long[] readLongArray(InputStream inputStream, int count) throws NumberFormatException {
+        try (InputSession session = numberSession(inputStream, Charset.defaultCharset())) {
+            return session.readLongArray(count);
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
+    /**
+     * <b>Reads all the whitespace separated <code>long</code> values of an InputStream.</b><br>
+     * @param inputStream InputStream to read the values from.
+     * @return Array with the read values.
+     * @throws NumberFormatException if a read value is not parseable to <code>long</code>.
+     * @since 3.1.0
+     * @see InputSession#readLongArray()
+     */
+    public static long[] readLongArray(InputStream inputStream) throws NumberFormatException {
+        try (InputSession session = numberSession(inputStream, Charset.defaultCharset())) {
+            return session.readLongArray();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
+    /**
+     * <b>Reads up to {@code count} whitespace separated <code>double</code> values from an InputStream.</b><br>
+     * @param inputStream InputStream to read the values from.
+     * @param count Number of values to read.
+     * @return Array with the read values. It's shorter than {@code count} if the stream ends before.
+     * @throws NumberFormatException if a read value is not parseable to <code>double</code>.
+     * @since 3.1.0
+     * @see #readIntArray(InputStream, int)
+     * @see InputSession#readDoubleArray(int)
+     */
+    public static double[] readDoubleArray(InputStream inputStream, int count) throws NumberFormatException {
+        try (InputSession session = numberSession(inputStream, Charset.defaultCharset())) {
+            return session.readDoubleArray(count);
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
+    /**
+     * <b>Reads all the whitespace separated <code>double</code> values of an InputStream.</b><br>
+     * @param inputStream InputStream to read the values from.
+     * @return Array with the read values.
+     * @throws NumberFormatException if a read value is not parseable to <code>double</code>.
+     * @since 3.1.0
+     * @see InputSession#readDoubleArray()
+     */
+    public static double[] readDoubleArray(InputStream inputStream) throws NumberFormatException {
+        try (InputSession session = numberSession(inputStream, Charset.defaultCharset())) {
+            return session.readDoubleArray();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+
+    /**
+     * Opens a session to read numbers in a charset. Numbers are ASCII digits, so charsets not
+     * supported by input sessions are read as ISO-8859-1.
+     */
+    static InputSession numberSession(InputStream inputStream, Charset charset) {
+        return new InputSession(inputStream, InputSession.isSupported(charset) ? charset : StandardCharsets.ISO_8859_1);
+    }
+
+
     /**
      * <b>Clears the console in Windows systems</b>
      * @since version 1.3
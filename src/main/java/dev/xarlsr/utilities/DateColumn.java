@@ -0,0 +1,314 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * <b>Growable column of dates stored as <code>int</code> epoch days.</b><br>
+ * A <code>LocalDate</code> takes 24 bytes plus a reference, and every access follows a pointer.
+ * A column keeps every date in the 4 bytes of an <code>int</code> of a single array, so a hundred
+ * million dates take 400 MB instead of gigabytes, and there's no object per date.<br>
+ * Dates are added one by one, as epoch days or <code>LocalDate</code>, or in bulk from texts in
+ * a built-in format with {@link #addAll(CharSequence[], String)}, and converted back to texts with
+ * {@link #toStrings(String)}. <code>LocalDate</code> objects are only created when asked for, by
+ * {@link #getDate(int)} and {@link #dates()}.<br>
+ * Columns are not thread safe.
+ * @see RecordColumns#dates(String)
+ * @since 3.1.0
+ */
+public final class DateColumn {
+
+    /**
+     * Default number of dates the column is created for.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+
+    /**
+     * Number of dates converted by every parallel task of the bulk conversions.
+     */
+    private static final int BLOCK_SIZE = 1 << 14;
+
+    private int[] days;
+    private int size;
+
+
+    /**
+     * <b>Creates an empty column with the default capacity.</b>
+     * @since 3.1.0
+     */
+    public DateColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * <b>Creates an empty column with an initial capacity.</b>
+     * @param capacity Number of dates the column is created for.
+     * @throws IllegalArgumentException if the capacity is negative.
+     * @since 3.1.0
+     */
+    public DateColumn(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity can't be negative: " + capacity);
+        }
+        this.days = new int[capacity];
+    }
+
+
+    /**
+     * <b>Creates a column with a copy of some epoch days.</b><br>
+     * @param epochDays Epoch days of the dates.
+     * @return New column with the dates.
+     * @since 3.1.0
+     */
+    public static DateColumn of(int... epochDays) {
+        return wrap(epochDays.clone(), epochDays.length);
+    }
+
+
+    /**
+     * Creates a column over the first {@code size} epoch days of an array, without copying it.
+     */
+    static DateColumn wrap(int[] epochDays, int size) {
+        DateColumn column = new DateColumn(0);
+        column.days = epochDays;
+        column.size = size;
+        return column;
+    }
+
+
+    /**
+     * <b>Returns the number of dates of the column.</b>
+     * @return Number of dates.
+     * @since 3.1.0
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * <b>Removes all the dates, keeping the memory of the column.</b>
+     * @since 3.1.0
+     */
+    public void clear() {
+        size = 0;
+    }
+
+
+    /**
+     * <b>Adds a date as an epoch day.</b>
+     * @param epochDay Epoch day of the date.
+     * @since 3.1.0
+     */
+    public void add(int epochDay) {
+        if (size == days.length) {
+            grow(size + 1);
+        }
+        days[size++] = epochDay;
+    }
+
+
+    /**
+     * <b>Adds a date.</b>
+     * @param date <code>LocalDate</code> to add.
+     * @throws ArithmeticException if the epoch day of the date overflows an <code>int</code>.
+     * @since 3.1.0
+     */
+    public void add(LocalDate date) {
+        add(Math.toIntExact(date.toEpochDay()));
+    }
+
+
+    /**
+     * <b>Adds the valid dates of an array of texts in a built-in format.</b><br>
+     * Every text is parsed as {@link BuiltInFormat#toEpochDay(CharSequence, int, int)} does, so
+     * nothing is allocated but the memory of the column. Invalid and null texts are not added,
+     * and the rest keep their order. Big arrays are parsed in parallel.
+     * @param texts Array with the dates to add.
+     * @param format <code>String</code> with a built-in format.
+     * @return <code>BitSet</code> with the positions of the added texts set.
+     * @throws IllegalArgumentException if the format is not a built-in one.
+     * @see DateUtils#validDates(String[], String)
+     * @since 3.1.0
+     */
+    public BitSet addAll(CharSequence[] texts, String format) {
+        BuiltInFormat builtIn = DateUtils.builtInFormat(format);
+        grow(size + texts.length);
+        int from = size;
+        long[] words = new long[(texts.length + 63) >>> 6];
+        // Blocks are multiples of 64 texts, so every task fills its own words.
+        blocks(texts.length).forEach(block -> {
+            int to = (int) Math.min(texts.length, (block + 1L) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < to; i++) {
+                CharSequence text = texts[i];
+                long day = text == null ? DateUtils.INVALID_EPOCH_DAY : builtIn.toEpochDay(text, 0, text.length());
+                if (day != DateUtils.INVALID_EPOCH_DAY) {
+                    days[from + i] = (int) day;
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+        BitSet added = BitSet.valueOf(words);
+        for (int i = added.nextSetBit(0); i >= 0; i = added.nextSetBit(i + 1)) {
+            days[size++] = days[from + i];
+        }
+        return added;
+    }
+
+
+    /**
+     * <b>Returns the epoch day of a date.</b>
+     * @param index Index of the date.
+     * @return Epoch day of the date.
+     * @throws IndexOutOfBoundsException if the index is not within the column.
+     * @since 3.1.0
+     */
+    public int get(int index) {
+        return days[checkIndex(index)];
+    }
+
+
+    /**
+     * <b>Returns a date as a <code>LocalDate</code>.</b><br>
+     * The date is created by {@link DateUtils#localDateCache()} if it's set.
+     * @param index Index of the date.
+     * @return <code>LocalDate</code> of the date.
+     * @throws IndexOutOfBoundsException if the index is not within the column.
+     * @since 3.1.0
+     */
+    public LocalDate getDate(int index) {
+        return DateUtils.toLocalDate(get(index));
+    }
+
+
+    /**
+     * <b>Replaces a date.</b>
+     * @param index Index of the date.
+     * @param epochDay Epoch day of the new date.
+     * @throws IndexOutOfBoundsException if the index is not within the column.
+     * @since 3.1.0
+     */
+    public void set(int index, int epochDay) {
+        days[checkIndex(index)] = epochDay;
+    }
+
+
+    /**
+     * <b>Sorts the dates in ascending order.</b>
+     * @since 3.1.0
+     */
+    public void sort() {
+        Arrays.sort(days, 0, size);
+    }
+
+
+    /**
+     * <b>Returns the epoch days of the dates.</b>
+     * @return New array with the epoch day of every date.
+     * @since 3.1.0
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(days, size);
+    }
+
+
+    /**
+     * <b>Returns a stream of the epoch days of the dates.</b><br>
+     * The column must not be changed while the stream is used.
+     * @return Ordered <code>IntStream</code> of the epoch days.
+     * @since 3.1.0
+     */
+    public IntStream epochDays() {
+        return Arrays.stream(days, 0, size);
+    }
+
+
+    /**
+     * <b>Returns a stream of the dates as <code>LocalDate</code>.</b><br>
+     * Dates are created as they are consumed, as {@link #getDate(int)} does.
+     * @return Ordered <code>Stream</code> of the dates.
+     * @since 3.1.0
+     */
+    public Stream<LocalDate> dates() {
+        return epochDays().mapToObj(DateUtils::toLocalDate);
+    }
+
+
+    /**
+     * <b>Returns the dates as texts in a built-in format.</b><br>
+     * Dates of the years 0001 to 9999 are written straight from their epoch day, without creating
+     * a <code>LocalDate</code>; the rest are formatted as {@link DateUtils#dateToString(LocalDate, String)}
+     * does. Big columns are converted in parallel.
+     * @param format <code>String</code> with a built-in format.
+     * @return New array with the text of every date.
+     * @throws IllegalArgumentException if the format is not a built-in one.
+     * @since 3.1.0
+     */
+    public String[] toStrings(String format) {
+        BuiltInFormat builtIn = DateUtils.builtInFormat(format);
+        DateTimeFormatter formatter = DateUtils.formatterCache().get(builtIn.pattern());
+        String[] texts = new String[size];
+        blocks(size).forEach(block -> {
+            byte[] buffer = new byte[builtIn.length()];
+            int to = (int) Math.min(size, (block + 1L) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < to; i++) {
+                int day = days[i];
+                if (BuiltInFormat.isFormattable(day)) {
+                    builtIn.format(day, buffer, 0);
+                    texts[i] = new String(buffer, StandardCharsets.ISO_8859_1);
+                } else {
+                    texts[i] = LocalDate.ofEpochDay(day).format(formatter);
+                }
+            }
+        });
+        return texts;
+    }
+
+
+    /**
+     * Returns the blocks of {@code count} elements, in parallel if they are many.
+     */
+    private static IntStream blocks(int count) {
+        IntStream blocks = IntStream.range(0, (count + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        return count >= DateUtils.PARALLEL_THRESHOLD ? blocks.parallel() : blocks;
+    }
+
+
+    /**
+     * Checks that an index is within the column.
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of a column of " + size + " dates");
+        }
+        return index;
+    }
+
+
+    /**
+     * Grows the array to at least {@code minCapacity} dates, doubling its capacity.
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity > days.length) {
+            days = Arrays.copyOf(days, Math.max(minCapacity, Math.max(16, days.length * 2)));
+        }
+    }
+
+}
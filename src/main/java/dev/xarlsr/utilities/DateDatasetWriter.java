@@ -0,0 +1,190 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+
+/**
+ * <b>Writes datasets of random dates, one formatted date per line.</b><br>
+ * The dates are the ones of {@link RandomDateGenerator#epochDays(int)}, so a dataset is reproduced
+ * by its seed, and every line is the text of {@link DateUtils#dateToString(LocalDate, String)}
+ * followed by '\n', encoded in UTF-8.<br>
+ * The dates are formatted in chunks, in parallel for big datasets, and the chunks are written in
+ * order with one big write each. Dates in the built-in formats (see {@link BuiltInFormat}) are
+ * written straight as ASCII bytes, with no <code>String</code> in between.<br>
+ * Writers are immutable and can be shared by any number of threads.
+ * @since 3.1.0
+ */
+public final class DateDatasetWriter {
+
+    private final RandomDateGenerator generator;
+    private final String format;
+    /** Built-in format, only when the whole period can be written by it. */
+    private final BuiltInFormat builtIn;
+    private final DateTimeFormatter formatter;
+
+
+    /**
+     * <b>Creates a writer of the dates of a generator in a format.</b><br>
+     * @param generator Generator of the dates, with the period, distribution and seed of the dataset.
+     * @param format <code>String</code> with the output format. A built-in format can be used
+     *               or a user's custom one. If null or empty "yyyyMMdd" is used.
+     * @throws IllegalArgumentException if the format is not a valid pattern.
+     * @since 3.1.0
+     */
+    public DateDatasetWriter(RandomDateGenerator generator, String format) {
+        this.generator = generator;
+        this.format = format == null || format.isEmpty() ? DateFormatConverter.DEFAULT_FORMAT : format;
+        this.formatter = DateUtils.formatterCache().get(this.format);
+        BuiltInFormat builtInFormat = BuiltInFormat.of(this.format);
+        boolean inRange = generator.startEpochDay() >= BuiltInFormat.FIRST_FORMATTABLE_DAY
+                && generator.endEpochDay() <= BuiltInFormat.LAST_FORMATTABLE_DAY + 1;
+        this.builtIn = inRange ? builtInFormat : null;
+    }
+
+
+    /**
+     * <b>Writes a dataset to a file, replacing its content.</b><br>
+     * @param file Path of the file, created if it doesn't exist.
+     * @param count Number of dates to write.
+     * @return Number of bytes written.
+     * @throws IOException if the file can't be written.
+     * @since 3.1.0
+     */
+    public long write(Path file, long count) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return write(count, (bytes, length) -> {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            });
+        }
+    }
+
+
+    /**
+     * <b>Writes a dataset to an <code>OutputStream</code>.</b><br>
+     * The stream is neither buffered nor closed: every chunk is written by a single call.
+     * @param outputStream Stream to write to.
+     * @param count Number of dates to write.
+     * @return Number of bytes written.
+     * @throws IOException if the stream can't be written.
+     * @since 3.1.0
+     */
+    public long write(OutputStream outputStream, long count) throws IOException {
+        return write(count, (bytes, length) -> outputStream.write(bytes, 0, length));
+    }
+
+
+    /**
+     * Returns the output format.
+     * @return <code>String</code> with the pattern of the written dates.
+     * @since 3.1.0
+     */
+    public String format() {
+        return format;
+    }
+
+
+    /**
+     * Destination of the formatted chunks.
+     */
+    @FunctionalInterface
+    private interface ChunkSink {
+        void write(byte[] bytes, int length) throws IOException;
+    }
+
+
+    /**
+     * Formats the chunks of the dataset, in rounds of one chunk per core, and writes every round in order.
+     */
+    private long write(long count, ChunkSink sink) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count: " + count);
+        }
+        SplittableRandom[] generators = generator.chunkGenerators(count);
+        int slots = count >= DateUtils.PARALLEL_THRESHOLD
+                ? Math.min(Runtime.getRuntime().availableProcessors(), generators.length) : 1;
+        byte[][] buffers = new byte[slots][];
+        int[] lengths = new int[slots];
+        long written = 0;
+        for (int first = 0; first < generators.length; first += slots) {
+            int round = first;
+            IntStream chunks = IntStream.range(first, Math.min(first + slots, generators.length));
+            if (slots > 1) {
+                chunks = chunks.parallel();
+            }
+            chunks.forEach(chunk -> {
+                long from = (long) chunk * RandomDateGenerator.CHUNK_SIZE;
+                int size = (int) Math.min(RandomDateGenerator.CHUNK_SIZE, count - from);
+                int slot = chunk - round;
+                if (builtIn != null) {
+                    lengths[slot] = formatBuiltIn(generators[chunk], size, buffers, slot);
+                } else {
+                    buffers[slot] = formatCustom(generators[chunk], size);
+                    lengths[slot] = buffers[slot].length;
+                }
+            });
+            for (int slot = 0; slot < slots && first + slot < generators.length; slot++) {
+                sink.write(buffers[slot], lengths[slot]);
+                written += lengths[slot];
+            }
+        }
+        return written;
+    }
+
+
+    /**
+     * Formats a chunk in the built-in format into the reused buffer of its slot.
+     * @return Number of bytes of the chunk.
+     */
+    private int formatBuiltIn(SplittableRandom random, int size, byte[][] buffers, int slot) {
+        int lineLength = builtIn.length() + 1;
+        if (buffers[slot] == null) {
+            buffers[slot] = new byte[RandomDateGenerator.CHUNK_SIZE * lineLength];
+        }
+        byte[] buffer = buffers[slot];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            builtIn.format(generator.next(random), buffer, offset);
+            offset += lineLength;
+            buffer[offset - 1] = '\n';
+        }
+        return offset;
+    }
+
+
+    /**
+     * Formats a chunk with the formatter of a custom pattern.
+     * @return UTF-8 bytes of the chunk.
+     */
+    private byte[] formatCustom(SplittableRandom random, int size) {
+        StringBuilder builder = new StringBuilder(size * (format.length() + 4));
+        for (int i = 0; i < size; i++) {
+            formatter.formatTo(LocalDate.ofEpochDay(generator.next(random)), builder);
+            builder.append('\n');
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
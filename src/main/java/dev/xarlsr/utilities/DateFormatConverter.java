@@ -0,0 +1,191 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+
+
+/**
+ * <b>Converts Strings representing dates from a format to other.</b><br>
+ * The formats are compiled once when the converter is created. Converters are immutable,
+ * so a single instance can be shared by any number of threads to reformat date columns in bulk.<br>
+ * As {@link DateUtils#dateFormatChanger(String, String, String)} always did, the parsing fixes some
+ * input date mistakes, i.e. june 31th will be parsed to july, 1st. February 29th of a non leap year
+ * will be parsed to March, 1st. The input is read as <code>SimpleDateFormat</code> did: numeric
+ * fields may have fewer digits than the pattern, i.e. "2015-6-1" matches <code>yyyy-MM-dd</code>,
+ * text fields ignore case, and two digit years ({@code yy}) are within 80 years before and 20
+ * years after the creation of the converter.<br>
+ * When both formats are built-in numeric formats (see {@link BuiltInFormat}) a valid date is
+ * converted by copying its digits to their position in the output format, with no date
+ * object in between.
+ * @see DateUtils#dateFormatChanger(String, String, String)
+ * @since 3.1.0
+ */
+public final class DateFormatConverter {
+
+    /**
+     * Format used when the input or output format is null or empty.
+     */
+    static final String DEFAULT_FORMAT = "yyyyMMdd";
+
+    private final String inputFormat;
+    private final String outputFormat;
+    private final DateTimeFormatter parser;
+    private final DateTimeFormatter formatter;
+    /** Date, 80 years ago, after which the century of two digit years starts. */
+    private final LocalDate centuryStart;
+    /** True when the input format has a two digit year. */
+    private final boolean twoDigitYears;
+    /** Built-in input format, only when both formats are built-in. */
+    private final BuiltInFormat builtInInput;
+    /** Built-in output format, only when both formats are built-in. */
+    private final BuiltInFormat builtInOutput;
+
+
+    /**
+     * <b>Compiles a converter between two formats.</b><br>
+     * @param inputFormat <code>String</code> with the input format. A built-in format can be used
+     *                    or a user's custom one. If null or empty "yyyyMMdd" is used.
+     * @param outputFormat <code>String</code> with the output format. A built-in format can be used
+     *                     or a user's custom one. If null or empty "yyyyMMdd" is used.
+     * @throws IllegalArgumentException if a format is not a valid pattern.
+     * @since 3.1.0
+     */
+    public DateFormatConverter(String inputFormat, String outputFormat) {
+        this.inputFormat = inputFormat == null || inputFormat.isEmpty() ? DEFAULT_FORMAT : inputFormat;
+        this.outputFormat = outputFormat == null || outputFormat.isEmpty() ? DEFAULT_FORMAT : outputFormat;
+        this.centuryStart = LocalDate.now().minusYears(80);
+        this.twoDigitYears = nextTwoDigitYear(this.inputFormat, 0) >= 0;
+        this.parser = parser(this.inputFormat, centuryStart);
+        this.formatter = DateUtils.formatterCache().get(this.outputFormat)
+                .withLocale(DateUtils.LOCALE_ES);
+        BuiltInFormat input = BuiltInFormat.of(this.inputFormat);
+        BuiltInFormat output = BuiltInFormat.of(this.outputFormat);
+        boolean remap = input != null && output != null;
+        this.builtInInput = remap ? input : null;
+        this.builtInOutput = remap ? output : null;
+    }
+
+
+    /**
+     * <b>Converts a String representing a date from the input format to the output format.</b><br>
+     * @param inputDate <code>String</code> with the date to convert.
+     * @return <code>String</code> converted to the output format.
+     * @throws ParseException when the input date is not parseable because doesn't match the input format.
+     * @since 3.1.0
+     */
+    public String convert(String inputDate) throws ParseException {
+        if (builtInInput != null
+                && builtInInput.parse(inputDate, 0, inputDate.length(), true) != BuiltInFormat.INVALID) {
+            char[] converted = new char[builtInOutput.length()];
+            builtInInput.remap(inputDate, builtInOutput, converted, centuryStart);
+            return new String(converted);
+        }
+        try {
+            LocalDate date = LocalDate.parse(inputDate, parser);
+            // The parser reads two digit years by whole years. SimpleDateFormat starts the century
+            // at this time 80 years ago, so the dates up to centuryStart belong to the next one.
+            if (twoDigitYears && !date.isAfter(centuryStart)) {
+                date = date.plusYears(100);
+            }
+            return formatter.format(date);
+        } catch (DateTimeParseException e) {
+            ParseException parseException = new ParseException(e.getMessage(), e.getErrorIndex());
+            parseException.initCause(e);
+            throw parseException;
+        } catch (DateTimeException e) {
+            ParseException parseException = new ParseException(e.getMessage(), 0);
+            parseException.initCause(e);
+            throw parseException;
+        }
+    }
+
+
+    /**
+     * <b>Returns the input format of the converter.</b>
+     * @return <code>String</code> with the input format.
+     * @since 3.1.0
+     */
+    public String inputFormat() {
+        return inputFormat;
+    }
+
+
+    /**
+     * <b>Returns the output format of the converter.</b>
+     * @return <code>String</code> with the output format.
+     * @since 3.1.0
+     */
+    public String outputFormat() {
+        return outputFormat;
+    }
+
+
+
+    /**
+     * Builds the lenient parser of an input pattern, reading numeric fields of any width and
+     * text of any case as <code>SimpleDateFormat</code> does. Every {@code yy} field reads two digit
+     * years within the century from the year of {@code centuryStart}.
+     * @throws IllegalArgumentException if the pattern is not valid.
+     */
+    private static DateTimeFormatter parser(String pattern, LocalDate centuryStart) {
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .parseLenient();
+        int from = 0;
+        for (int year = nextTwoDigitYear(pattern, 0); year >= 0; year = nextTwoDigitYear(pattern, from)) {
+            builder.appendPattern(pattern.substring(from, year))
+                    .appendValueReduced(ChronoField.YEAR, 2, 2, centuryStart);
+            from = year + 2;
+        }
+        return builder.appendPattern(pattern.substring(from))
+                .toFormatter(DateUtils.LOCALE_ES)
+                .withResolverStyle(ResolverStyle.LENIENT);
+    }
+
+
+    /**
+     * Returns the index of the next {@code yy} field of a pattern, out of quotes and optional
+     * sections, looking from {@code from}, which must be out of them too.
+     * @return Index of the field, or -1 if there's none.
+     */
+    private static int nextTwoDigitYear(String pattern, int from) {
+        boolean quoted = false;
+        int optional = 0;
+        for (int i = from; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == '[') {
+                optional++;
+            } else if (!quoted && c == ']') {
+                optional--;
+            } else if (!quoted && optional == 0 && c == 'y') {
+                int end = i;
+                while (end < pattern.length() && pattern.charAt(end) == 'y') {
+                    end++;
+                }
+                if (end - i == 2) {
+                    return i;
+                }
+                i = end - 1;
+            }
+        }
+        return -1;
+    }
+
+}
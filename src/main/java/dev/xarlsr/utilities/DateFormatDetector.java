@@ -0,0 +1,249 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * <b>Detects the built-in format of a sample of dates.</b><br>
+ * Instead of trying {@link DateUtils#stringToDate(String, String)} with every pattern, paying an
+ * exception and a console message for every miss, the detector checks every text of a sample
+ * against all the built-in formats at once: its length, the position of its separators and the
+ * ranges of its day, month and year digits. Nothing is thrown nor printed.<br>
+ * A format is a candidate if it parses every text of the sample. When some texts are valid
+ * in several formats, as "10101010" is both in <code>yyyyMMdd</code> and {@link DateUtils#BNK},
+ * the formats whose years are all between 1900 and 2099 are preferred. If more than one candidate
+ * is left the sample is ambiguous, and more texts are needed.<br>
+ * Once detected, {@link #toEpochDay(CharSequence)} parses the rest of the data ignoring the
+ * spaces and tabs around the dates, as the sample does. {@link #parser()} returns the format
+ * itself, whose {@code toEpochDay} methods parse exact slices without allocating. Detectors are
+ * not thread safe.
+ * <pre>
+ *     DateFormatDetector detector = DateFormatDetector.of(firstLines);
+ *     long epochDay = detector.toEpochDay(line);
+ * </pre>
+ * @see BuiltInFormat
+ * @since 3.1.0
+ */
+public final class DateFormatDetector {
+
+    private static final BuiltInFormat[] FORMATS = BuiltInFormat.values();
+    private static final long FIRST_PLAUSIBLE_DAY = BuiltInFormat.epochDay(1900, 1, 1);
+    private static final long LAST_PLAUSIBLE_DAY = BuiltInFormat.epochDay(2099, 12, 31);
+
+    /** Texts of the sample parsed by every format, indexed by ordinal. */
+    private final int[] matches = new int[FORMATS.length];
+    /** Texts of the sample parsed by every format to a date between 1900 and 2099. */
+    private final int[] plausible = new int[FORMATS.length];
+    private int sampleSize;
+
+
+    /**
+     * <b>Creates a detector with an empty sample.</b>
+     * @since 3.1.0
+     */
+    public DateFormatDetector() {
+    }
+
+
+    /**
+     * <b>Creates a detector with a sample of dates.</b>
+     * @param sample Texts of the sample. Blank and null texts are ignored.
+     * @return Detector with the sample added.
+     * @since 3.1.0
+     */
+    public static DateFormatDetector of(CharSequence... sample) {
+        DateFormatDetector detector = new DateFormatDetector();
+        for (CharSequence text : sample) {
+            detector.add(text);
+        }
+        return detector;
+    }
+
+
+    /**
+     * <b>Creates a detector with a sample of dates.</b>
+     * @param sample Texts of the sample. Blank and null texts are ignored.
+     * @return Detector with the sample added.
+     * @since 3.1.0
+     */
+    public static DateFormatDetector of(Iterable<? extends CharSequence> sample) {
+        DateFormatDetector detector = new DateFormatDetector();
+        for (CharSequence text : sample) {
+            detector.add(text);
+        }
+        return detector;
+    }
+
+
+    /**
+     * <b>Adds a text to the sample.</b><br>
+     * Spaces and tabs around the date are ignored. Days from 29 to 31 beyond the end of their
+     * month are accepted, as the parsers do.
+     * @param text Text of a date. Blank and null texts are ignored.
+     * @return This detector.
+     * @since 3.1.0
+     */
+    public DateFormatDetector add(CharSequence text) {
+        if (text == null) {
+            return this;
+        }
+        int from = start(text);
+        int to = end(text, from);
+        if (from == to) {
+            return this;
+        }
+        sampleSize++;
+        for (BuiltInFormat format : FORMATS) {
+            long epochDay = format.parse(text, from, to - from, false);
+            if (epochDay != DateUtils.INVALID_EPOCH_DAY) {
+                matches[format.ordinal()]++;
+                if (epochDay >= FIRST_PLAUSIBLE_DAY && epochDay <= LAST_PLAUSIBLE_DAY) {
+                    plausible[format.ordinal()]++;
+                }
+            }
+        }
+        return this;
+    }
+
+
+    /**
+     * <b>Returns the number of texts of the sample.</b>
+     * @return Number of not blank texts added.
+     * @since 3.1.0
+     */
+    public int sampleSize() {
+        return sampleSize;
+    }
+
+
+    /**
+     * <b>Returns the formats that can parse the sample.</b><br>
+     * When several formats parse every text, only the ones with all the years between 1900 and
+     * 2099 are returned, if there's any.
+     * @return List with the candidate formats, empty if the sample is empty or no format parses it all.
+     * @since 3.1.0
+     */
+    public List<BuiltInFormat> candidates() {
+        List<BuiltInFormat> candidates = new ArrayList<>();
+        List<BuiltInFormat> plausibleCandidates = new ArrayList<>();
+        if (sampleSize == 0) {
+            return candidates;
+        }
+        for (BuiltInFormat format : FORMATS) {
+            if (matches[format.ordinal()] == sampleSize) {
+                candidates.add(format);
+                if (plausible[format.ordinal()] == sampleSize) {
+                    plausibleCandidates.add(format);
+                }
+            }
+        }
+        return candidates.size() > 1 && !plausibleCandidates.isEmpty() ? plausibleCandidates : candidates;
+    }
+
+
+    /**
+     * <b>Checks if the sample can be parsed by more than one format.</b>
+     * @return true if there are several candidate formats.
+     * @since 3.1.0
+     */
+    public boolean isAmbiguous() {
+        return candidates().size() > 1;
+    }
+
+
+    /**
+     * <b>Returns the detected format.</b>
+     * @return The only candidate format, or {@code null} if there are none or several.
+     * @since 3.1.0
+     */
+    public BuiltInFormat format() {
+        List<BuiltInFormat> candidates = candidates();
+        return candidates.size() == 1 ? candidates.get(0) : null;
+    }
+
+
+    /**
+     * <b>Parses a date in the detected format.</b><br>
+     * Spaces and tabs around the date are ignored, as in {@link #add(CharSequence)}. Days from 29
+     * to 31 beyond the end of their month are moved to the last day of the month. No object is
+     * allocated once the format is detected.
+     * @param text Text of a date.
+     * @return Epoch day of the date, or {@link DateUtils#INVALID_EPOCH_DAY} if it's null or not a
+     * valid date in the detected format.
+     * @throws IllegalStateException if the sample is ambiguous or no format parses it.
+     * @see BuiltInFormat#toEpochDay(CharSequence, int, int)
+     * @since 3.1.0
+     */
+    public long toEpochDay(CharSequence text) {
+        BuiltInFormat parser = parser();
+        if (text == null) {
+            return DateUtils.INVALID_EPOCH_DAY;
+        }
+        int from = start(text);
+        return parser.toEpochDay(text, from, end(text, from) - from);
+    }
+
+
+    /**
+     * <b>Returns the parser of the detected format.</b><br>
+     * The format parses exact slices: unlike {@link #toEpochDay(CharSequence)}, it doesn't
+     * ignore the spaces and tabs around the dates.
+     * @return The detected format, whose {@code toEpochDay} methods parse the rest of the data.
+     * @throws IllegalStateException if the sample is ambiguous or no format parses it.
+     * @since 3.1.0
+     */
+    public BuiltInFormat parser() {
+        List<BuiltInFormat> candidates = candidates();
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No built-in format parses the " + sampleSize + " dates of the sample");
+        }
+        throw new IllegalStateException("Ambiguous sample of " + sampleSize + " dates, candidate formats: " + candidates);
+    }
+
+
+    /**
+     * Returns the index of the first character of a text that is not a space nor a tab.
+     */
+    private static int start(CharSequence text) {
+        int from = 0;
+        while (from < text.length() && isBlank(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+
+    /**
+     * Returns the index after the last character of a text that is not a space nor a tab,
+     * not lower than {@code from}.
+     */
+    private static int end(CharSequence text, int from) {
+        int to = text.length();
+        while (to > from && isBlank(text.charAt(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+
+
+    /**
+     * Checks if a character is a space or a tab.
+     */
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+}
@@ -0,0 +1,316 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+
+/**
+ * <b>Sorted index of dates, answering range and nearest date queries in logarithmic time.</b><br>
+ * The index keeps the epoch days of a column sorted, each one with its record id: its position
+ * in the column. Counting the records between two dates, iterating them, or finding the nearest
+ * date to a given one is a binary search instead of a scan of the records.<br>
+ * The index is built once with a stable radix sort, so records with the same date keep the
+ * order of their ids. Big columns are sorted in parallel. Indexes are immutable and can be
+ * shared by any number of threads.
+ * @see DateColumn
+ * @since 3.1.0
+ */
+public final class DateIndex {
+
+    /**
+     * Bits of the radix sort digits.
+     */
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * Minimum number of dates sorted by every parallel task.
+     */
+    private static final int MIN_BLOCK_SIZE = 1 << 14;
+
+    /** Sorted epoch days. */
+    private final int[] days;
+    /** Record id of every sorted epoch day. */
+    private final int[] ids;
+
+
+    private DateIndex(int[] days, int[] ids) {
+        this.days = days;
+        this.ids = ids;
+    }
+
+
+    /**
+     * <b>Builds the index of the dates of a column.</b><br>
+     * The record id of every date is its index in the column. Columns over
+     * {@link DateUtils#PARALLEL_THRESHOLD} dates are sorted in parallel.
+     * @param column Column with the dates.
+     * @return Index of the dates.
+     * @since 3.1.0
+     */
+    public static DateIndex build(DateColumn column) {
+        return build(column.toArray());
+    }
+
+
+    /**
+     * <b>Builds the index of some epoch days.</b><br>
+     * @param epochDays Epoch days of the records, not modified.
+     * @return Index of the dates.
+     * @see #build(DateColumn)
+     * @since 3.1.0
+     */
+    public static DateIndex build(int[] epochDays) {
+        int size = epochDays.length;
+        boolean parallel = size >= DateUtils.PARALLEL_THRESHOLD;
+        int blocks = parallel ? Math.max(1, Math.min(size / MIN_BLOCK_SIZE, ForkJoinPool.getCommonPoolParallelism() * 4)) : 1;
+        int blockSize = (size + blocks - 1) / blocks;
+        int[] keys = epochDays.clone();
+        int[] ids = new int[size];
+        int[] sortedKeys = new int[size];
+        int[] sortedIds = new int[size];
+        if (parallel) {
+            Arrays.parallelSetAll(ids, i -> i);
+        } else {
+            Arrays.setAll(ids, i -> i);
+        }
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            if (radixPass(keys, ids, sortedKeys, sortedIds, shift, blocks, blockSize, parallel)) {
+                int[] swap = keys;
+                keys = sortedKeys;
+                sortedKeys = swap;
+                swap = ids;
+                ids = sortedIds;
+                sortedIds = swap;
+            }
+        }
+        return new DateIndex(keys, ids);
+    }
+
+
+    /**
+     * <b>Returns the number of indexed dates.</b>
+     * @return Number of records of the index.
+     * @since 3.1.0
+     */
+    public int size() {
+        return days.length;
+    }
+
+
+    /**
+     * <b>Returns the epoch day at a position of the sorted dates.</b>
+     * @param rank Position in the sorted dates, from 0 to {@code size() - 1}.
+     * @return Epoch day of the date.
+     * @throws IndexOutOfBoundsException if the position is not within the index.
+     * @since 3.1.0
+     */
+    public int epochDay(int rank) {
+        return days[rank];
+    }
+
+
+    /**
+     * <b>Returns the record id at a position of the sorted dates.</b>
+     * @param rank Position in the sorted dates, from 0 to {@code size() - 1}.
+     * @return Index in the column of the record with that date.
+     * @throws IndexOutOfBoundsException if the position is not within the index.
+     * @since 3.1.0
+     */
+    public int recordId(int rank) {
+        return ids[rank];
+    }
+
+
+    /**
+     * <b>Counts the records whose date is within a range.</b><br>
+     * @param fromEpochDay Epoch day of the first date of the range.
+     * @param toEpochDay Epoch day of the last date of the range, included.
+     * @return Number of records within the range, 0 if the range is empty.
+     * @since 3.1.0
+     */
+    public int count(long fromEpochDay, long toEpochDay) {
+        return Math.max(0, upperBound(toEpochDay) - lowerBound(fromEpochDay));
+    }
+
+
+    /**
+     * <b>Counts the records whose date is within a range.</b><br>
+     * @param from First date of the range.
+     * @param to Last date of the range, included.
+     * @return Number of records within the range, 0 if the range is empty.
+     * @since 3.1.0
+     */
+    public int count(LocalDate from, LocalDate to) {
+        return count(from.toEpochDay(), to.toEpochDay());
+    }
+
+
+    /**
+     * <b>Returns the ids of the records whose date is within a range.</b><br>
+     * Ids are ordered by date, and by id for the same date.
+     * @param fromEpochDay Epoch day of the first date of the range.
+     * @param toEpochDay Epoch day of the last date of the range, included.
+     * @return <code>IntStream</code> with the record ids, empty if the range is empty.
+     * @since 3.1.0
+     */
+    public IntStream recordIds(long fromEpochDay, long toEpochDay) {
+        int from = lowerBound(fromEpochDay);
+        int to = upperBound(toEpochDay);
+        return from < to ? Arrays.stream(ids, from, to) : IntStream.empty();
+    }
+
+
+    /**
+     * <b>Returns the ids of the records whose date is within a range.</b><br>
+     * @param from First date of the range.
+     * @param to Last date of the range, included.
+     * @return <code>IntStream</code> with the record ids, empty if the range is empty.
+     * @see #recordIds(long, long)
+     * @since 3.1.0
+     */
+    public IntStream recordIds(LocalDate from, LocalDate to) {
+        return recordIds(from.toEpochDay(), to.toEpochDay());
+    }
+
+
+    /**
+     * <b>Returns the greatest indexed date less than or equal to a given one.</b>
+     * @param epochDay Epoch day of the date.
+     * @return Epoch day of the found date, or {@link DateUtils#INVALID_EPOCH_DAY} if there's none.
+     * @since 3.1.0
+     */
+    public long floor(long epochDay) {
+        int rank = upperBound(epochDay) - 1;
+        return rank >= 0 ? days[rank] : DateUtils.INVALID_EPOCH_DAY;
+    }
+
+
+    /**
+     * <b>Returns the greatest indexed date less than or equal to a given one.</b>
+     * @param date Date to look for.
+     * @return Found date, or null if there's none.
+     * @since 3.1.0
+     */
+    public LocalDate floor(LocalDate date) {
+        return toDate(floor(date.toEpochDay()));
+    }
+
+
+    /**
+     * <b>Returns the least indexed date greater than or equal to a given one.</b>
+     * @param epochDay Epoch day of the date.
+     * @return Epoch day of the found date, or {@link DateUtils#INVALID_EPOCH_DAY} if there's none.
+     * @since 3.1.0
+     */
+    public long ceiling(long epochDay) {
+        int rank = lowerBound(epochDay);
+        return rank < days.length ? days[rank] : DateUtils.INVALID_EPOCH_DAY;
+    }
+
+
+    /**
+     * <b>Returns the least indexed date greater than or equal to a given one.</b>
+     * @param date Date to look for.
+     * @return Found date, or null if there's none.
+     * @since 3.1.0
+     */
+    public LocalDate ceiling(LocalDate date) {
+        return toDate(ceiling(date.toEpochDay()));
+    }
+
+
+    /**
+     * Returns the position of the first date not less than {@code epochDay}.
+     */
+    private int lowerBound(long epochDay) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Returns the position of the first date greater than {@code epochDay}.
+     */
+    private int upperBound(long epochDay) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] <= epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Returns the date of an epoch day, or null for {@link DateUtils#INVALID_EPOCH_DAY}.
+     */
+    private static LocalDate toDate(long epochDay) {
+        return epochDay == DateUtils.INVALID_EPOCH_DAY ? null : DateUtils.toLocalDate(epochDay);
+    }
+
+
+    /**
+     * Moves the keys and ids to the sorted arrays, ordered by the digit at {@code shift}.
+     * Every block counts its digits and then scatters its elements to its own offsets, so blocks
+     * run in parallel and the sort stays stable.
+     * @return false if every key has the same digit, so nothing was moved.
+     */
+    private static boolean radixPass(int[] keys, int[] ids, int[] sortedKeys, int[] sortedIds, int shift,
+                                     int blocks, int blockSize, boolean parallel) {
+        int size = keys.length;
+        long[][] offsets = new long[blocks][RADIX];
+        IntStream range = IntStream.range(0, blocks);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(block -> {
+            long[] counts = offsets[block];
+            for (int i = block * blockSize, to = Math.min(size, i + blockSize); i < to; i++) {
+                counts[RadixSort.digit(keys[i], shift, RADIX_BITS)]++;
+            }
+        });
+        if (!RadixSort.toOffsets(offsets, size)) {
+            return false;
+        }
+        range = IntStream.range(0, blocks);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(block -> {
+            long[] next = offsets[block];
+            for (int i = block * blockSize, to = Math.min(size, i + blockSize); i < to; i++) {
+                int position = (int) next[RadixSort.digit(keys[i], shift, RADIX_BITS)]++;
+                sortedKeys[position] = keys[i];
+                sortedIds[position] = ids[i];
+            }
+        });
+        return true;
+    }
+
+}
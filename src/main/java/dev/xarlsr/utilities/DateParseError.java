@@ -0,0 +1,62 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+
+/**
+ * <b>Kinds of failure reported by {@link DateUtils#parse(String, String)}.</b>
+ * @see DateParseResult
+ * @see DateUtils#parseFailureCount(DateParseError)
+ * @since 3.1.0
+ */
+public enum DateParseError {
+
+    /**
+     * The date to parse is null.
+     */
+    NULL_INPUT,
+    /**
+     * The date doesn't have the length of its built-in format.
+     */
+    WRONG_LENGTH,
+    /**
+     * A character where a digit was expected is not a digit.
+     */
+    NOT_A_DIGIT,
+    /**
+     * A separator of the built-in format is missing or wrong.
+     */
+    WRONG_SEPARATOR,
+    /**
+     * The text doesn't match a custom pattern.
+     */
+    TEXT_MISMATCH,
+    /**
+     * The year is out of the supported range.
+     */
+    YEAR_OUT_OF_RANGE,
+    /**
+     * The month is not between 1 and 12.
+     */
+    MONTH_OUT_OF_RANGE,
+    /**
+     * The day doesn't exist in its month.
+     */
+    DAY_OUT_OF_RANGE,
+    /**
+     * The fields of a custom pattern can't be resolved to a date, i.e. the pattern has no day.
+     */
+    UNRESOLVED,
+    /**
+     * The format is not a valid pattern.
+     */
+    INVALID_PATTERN
+
+}
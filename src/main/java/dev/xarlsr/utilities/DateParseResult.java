@@ -0,0 +1,125 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.time.LocalDate;
+
+
+/**
+ * <b>Result of parsing a date with {@link DateUtils#parse(String, String)}.</b><br>
+ * Either the parsed date, or the kind of error and the index of the text where it was found.
+ * Failures are reported by this object only: nothing is written to the console and no
+ * exception is thrown, so a failed date costs the same as a valid one.<br>
+ * Results are immutable.
+ * @see DateParseError
+ * @since 3.1.0
+ */
+public final class DateParseResult {
+
+    private final long epochDay;
+    private final DateParseError error;
+    private final int errorIndex;
+
+
+    private DateParseResult(long epochDay, DateParseError error, int errorIndex) {
+        this.epochDay = epochDay;
+        this.error = error;
+        this.errorIndex = errorIndex;
+    }
+
+
+    /**
+     * Builds the result of a valid date.
+     */
+    static DateParseResult success(long epochDay) {
+        return new DateParseResult(epochDay, null, -1);
+    }
+
+
+    /**
+     * Builds the result of a failure.
+     */
+    static DateParseResult failure(DateParseError error, int errorIndex) {
+        return new DateParseResult(DateUtils.INVALID_EPOCH_DAY, error, errorIndex);
+    }
+
+
+    /**
+     * <b>Checks if the date was parsed.</b>
+     * @return true if the text was a valid date.
+     * @since 3.1.0
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+
+    /**
+     * <b>Returns the parsed date.</b><br>
+     * @return <code>LocalDate</code> with the parsed date.
+     * @throws IllegalStateException if the date was not valid.
+     * @since 3.1.0
+     */
+    public LocalDate date() {
+        if (error != null) {
+            throw new IllegalStateException("The date is not valid: " + error + " at index " + errorIndex);
+        }
+        return DateUtils.toLocalDate(epochDay);
+    }
+
+
+    /**
+     * <b>Returns the parsed date, or a default one if it was not valid.</b><br>
+     * @param other Date to return when the date was not valid.
+     * @return <code>LocalDate</code> with the parsed date, or {@code other}.
+     * @since 3.1.0
+     */
+    public LocalDate orElse(LocalDate other) {
+        return error == null ? DateUtils.toLocalDate(epochDay) : other;
+    }
+
+
+    /**
+     * <b>Returns the epoch day of the parsed date.</b><br>
+     * @return Epoch day, or {@link DateUtils#INVALID_EPOCH_DAY} if the date was not valid.
+     * @since 3.1.0
+     */
+    public long epochDay() {
+        return epochDay;
+    }
+
+
+    /**
+     * <b>Returns the kind of error.</b><br>
+     * @return Kind of error, or {@code null} if the date was valid.
+     * @since 3.1.0
+     */
+    public DateParseError error() {
+        return error;
+    }
+
+
+    /**
+     * <b>Returns the index of the text where the error was found.</b><br>
+     * @return Index of the error, or -1 if the date was valid.
+     * @since 3.1.0
+     */
+    public int errorIndex() {
+        return errorIndex;
+    }
+
+
+    @Override
+    public String toString() {
+        return error == null ? "DateParseResult[" + LocalDate.ofEpochDay(epochDay) + "]"
+                : "DateParseResult[" + error + " at index " + errorIndex + "]";
+    }
+
+}
@@ -0,0 +1,495 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+
+/**
+ * <b>Off-heap store of dates as <code>int</code> epoch days, in direct or memory mapped buffers.</b><br>
+ * Unlike a {@link DateColumn}, the dates are out of the Java heap, so billions of them can be kept
+ * without making the garbage collector slower, and a store backed by a file survives restarts:
+ * {@link #open(Path)} maps the file back in without reading nor parsing anything.<br>
+ * Dates are kept in segments of a fixed number of dates, a power of two, added as the store grows,
+ * so it's never copied to grow and its size is not limited to the 2 GB of a single buffer.
+ * A file has a header with the segment size and the number of dates, written by {@link #flush()}
+ * and {@link #close()}, followed by the epoch days in little endian order.<br>
+ * Stores are not thread safe.
+ * @see DateColumn
+ * @since 3.1.0
+ */
+public final class DateStore implements Closeable {
+
+    /**
+     * Default number of dates of every segment, 64 MB.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 24;
+
+    /**
+     * "XDAT", first bytes of the files.
+     */
+    private static final int MAGIC = 0x58444154;
+    private static final int VERSION = 1;
+    /**
+     * Magic, version, segment size, a reserved int and the number of dates.
+     */
+    private static final int HEADER_SIZE = 24;
+    private static final int SIZE_OFFSET = 16;
+
+    /**
+     * Bits of the radix sort digits.
+     */
+    private static final int RADIX_BITS = 16;
+
+    private final int segmentShift;
+    private final int segmentMask;
+    /** File and channel of a mapped store, null for a store in direct buffers. */
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private final List<IntBuffer> segments = new ArrayList<>();
+    private long size;
+
+
+    private DateStore(int segmentSize, Path file, FileChannel channel, MappedByteBuffer header) {
+        if (segmentSize < 1 || segmentSize > 1 << 28) {
+            throw new IllegalArgumentException("Wrong segment size: " + segmentSize);
+        }
+        this.segmentShift = 32 - Integer.numberOfLeadingZeros(segmentSize - 1);
+        this.segmentMask = (1 << segmentShift) - 1;
+        this.file = file;
+        this.channel = channel;
+        this.header = header;
+    }
+
+
+    /**
+     * <b>Creates an empty store in direct buffers, with segments of the default size.</b>
+     * @return New store.
+     * @since 3.1.0
+     */
+    public static DateStore allocateDirect() {
+        return allocateDirect(DEFAULT_SEGMENT_SIZE);
+    }
+
+
+    /**
+     * <b>Creates an empty store in direct buffers.</b><br>
+     * The memory of a segment is allocated when the first date of the segment is added.
+     * @param segmentSize Number of dates of every segment, rounded up to a power of two.
+     * @return New store.
+     * @throws IllegalArgumentException if the segment size is not between 1 and 2^28.
+     * @since 3.1.0
+     */
+    public static DateStore allocateDirect(int segmentSize) {
+        return new DateStore(segmentSize, null, null, null);
+    }
+
+
+    /**
+     * <b>Creates an empty store in a memory mapped file, with segments of the default size.</b>
+     * @param file Path of the file, replaced if it exists.
+     * @return New store. It must be closed to close the file.
+     * @throws IOException if the file can't be created.
+     * @since 3.1.0
+     */
+    public static DateStore create(Path file) throws IOException {
+        return create(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+
+    /**
+     * <b>Creates an empty store in a memory mapped file.</b><br>
+     * Segments are mapped as they are needed. Space not written yet is not allocated on the disk
+     * by most file systems.
+     * @param file Path of the file, replaced if it exists.
+     * @param segmentSize Number of dates of every segment, rounded up to a power of two.
+     * @return New store. It must be closed to close the file.
+     * @throws IOException if the file can't be created.
+     * @throws IllegalArgumentException if the segment size is not between 1 and 2^28.
+     * @since 3.1.0
+     */
+    public static DateStore create(Path file, int segmentSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            DateStore store = new DateStore(segmentSize, file, channel, header);
+            header.order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(0, MAGIC)
+                    .putInt(4, VERSION)
+                    .putInt(8, store.segmentMask + 1);
+            store.flush();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * <b>Opens a store saved in a file, mapping it back in.</b><br>
+     * The dates are not read: the operating system loads the pages of the file as they are used.
+     * @param file Path of a file written by a store.
+     * @return Store with the dates of the file. It must be closed to close the file.
+     * @throws IOException if the file can't be opened or it's not a date store.
+     * @since 3.1.0
+     */
+    public static DateStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a date store: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            int segmentSize = header.getInt(8);
+            long size = header.getLong(SIZE_OFFSET);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                    || Integer.bitCount(segmentSize) != 1 || segmentSize > 1 << 28
+                    || size < 0 || HEADER_SIZE + size * Integer.BYTES > channel.size()) {
+                throw new IOException("Not a date store: " + file);
+            }
+            DateStore store = new DateStore(segmentSize, file, channel, header);
+            store.ensureCapacity(size);
+            store.size = size;
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * <b>Returns the number of dates of the store.</b>
+     * @return Number of dates.
+     * @since 3.1.0
+     */
+    public long size() {
+        return size;
+    }
+
+
+    /**
+     * <b>Returns whether the store is backed by a file.</b>
+     * @return true for a memory mapped store, false for a store in direct buffers.
+     * @since 3.1.0
+     */
+    public boolean isMapped() {
+        return channel != null;
+    }
+
+
+    /**
+     * <b>Adds a date as an epoch day.</b>
+     * @param epochDay Epoch day of the date.
+     * @throws UncheckedIOException if a new segment of the file can't be mapped.
+     * @since 3.1.0
+     */
+    public void add(int epochDay) {
+        if ((size & segmentMask) == 0) {
+            ensureCapacity(size + 1);
+        }
+        segments.get((int) (size >>> segmentShift)).put((int) (size & segmentMask), epochDay);
+        size++;
+    }
+
+
+    /**
+     * <b>Adds a date.</b>
+     * @param date <code>LocalDate</code> to add.
+     * @throws ArithmeticException if the epoch day of the date overflows an <code>int</code>.
+     * @since 3.1.0
+     */
+    public void add(LocalDate date) {
+        add(Math.toIntExact(date.toEpochDay()));
+    }
+
+
+    /**
+     * <b>Adds all the dates of a column.</b>
+     * @param column Column with the dates to add.
+     * @since 3.1.0
+     */
+    public void addAll(DateColumn column) {
+        column.epochDays().forEach(this::add);
+    }
+
+
+    /**
+     * <b>Adds the valid dates of an array of texts in a built-in format.</b><br>
+     * The texts are parsed as {@link DateColumn#addAll(CharSequence[], String)} does, in parallel
+     * for big arrays. Invalid and null texts are not added.
+     * @param texts Array with the dates to add.
+     * @param format <code>String</code> with a built-in format.
+     * @return <code>BitSet</code> with the positions of the added texts set.
+     * @throws IllegalArgumentException if the format is not a built-in one.
+     * @since 3.1.0
+     */
+    public BitSet addAll(CharSequence[] texts, String format) {
+        DateColumn column = new DateColumn(texts.length);
+        BitSet added = column.addAll(texts, format);
+        addAll(column);
+        return added;
+    }
+
+
+    /**
+     * <b>Returns the epoch day of a date.</b>
+     * @param index Index of the date.
+     * @return Epoch day of the date.
+     * @throws IndexOutOfBoundsException if the index is not within the store.
+     * @since 3.1.0
+     */
+    public int get(long index) {
+        checkIndex(index);
+        return segments.get((int) (index >>> segmentShift)).get((int) (index & segmentMask));
+    }
+
+
+    /**
+     * <b>Returns a date as a <code>LocalDate</code>.</b><br>
+     * The date is created by {@link DateUtils#localDateCache()} if it's set.
+     * @param index Index of the date.
+     * @return <code>LocalDate</code> of the date.
+     * @throws IndexOutOfBoundsException if the index is not within the store.
+     * @since 3.1.0
+     */
+    public LocalDate getDate(long index) {
+        return DateUtils.toLocalDate(get(index));
+    }
+
+
+    /**
+     * <b>Replaces a date.</b>
+     * @param index Index of the date.
+     * @param epochDay Epoch day of the new date.
+     * @throws IndexOutOfBoundsException if the index is not within the store.
+     * @since 3.1.0
+     */
+    public void set(long index, int epochDay) {
+        checkIndex(index);
+        segments.get((int) (index >>> segmentShift)).put((int) (index & segmentMask), epochDay);
+    }
+
+
+    /**
+     * <b>Performs an action for every date, in order.</b><br>
+     * The segments are read one after the other, the fastest way to scan the store.
+     * @param action Action receiving the epoch day of every date.
+     * @since 3.1.0
+     */
+    public void forEach(IntConsumer action) {
+        long remaining = size;
+        for (int i = 0; remaining > 0; i++) {
+            IntBuffer segment = segments.get(i);
+            int count = (int) Math.min(remaining, segmentMask + 1L);
+            for (int j = 0; j < count; j++) {
+                action.accept(segment.get(j));
+            }
+            remaining -= count;
+        }
+    }
+
+
+    /**
+     * <b>Copies a section of the store into a <code>DateColumn</code>.</b>
+     * @param from Index of the first date to copy.
+     * @param length Number of dates to copy.
+     * @return New column with the dates.
+     * @throws IndexOutOfBoundsException if the section is not within the store.
+     * @since 3.1.0
+     */
+    public DateColumn toColumn(long from, int length) {
+        if (from < 0 || length < 0 || from > size - length) {
+            throw new IndexOutOfBoundsException("Section [" + from + ", " + from + " + " + length
+                    + ") out of a store of " + size + " dates");
+        }
+        int[] days = new int[length];
+        int copied = 0;
+        while (copied < length) {
+            long index = from + copied;
+            IntBuffer segment = segments.get((int) (index >>> segmentShift)).duplicate();
+            segment.position((int) (index & segmentMask));
+            int count = Math.min(length - copied, segment.remaining());
+            segment.get(days, copied, count);
+            copied += count;
+        }
+        return DateColumn.wrap(days, length);
+    }
+
+
+    /**
+     * <b>Sorts the dates in ascending order, with a radix sort.</b><br>
+     * The sort runs in linear time, with two passes of 16 bits, skipping the passes whose digit is
+     * the same for every date: the dates from 1970 to 2149 are sorted in a single pass. It needs
+     * a scratch store as big as this one: in direct buffers, or in a temporary file next to the
+     * file of a mapped store, deleted after the sort. Some systems, as Windows, don't delete a
+     * file while it's still mapped; then the temporary file is deleted when the JVM exits.
+     * @throws IOException if the temporary file can't be created.
+     * @since 3.1.0
+     */
+    public void sort() throws IOException {
+        if (size < 2) {
+            return;
+        }
+        Path scratchFile = null;
+        DateStore scratch;
+        if (channel == null) {
+            scratch = allocateDirect(segmentMask + 1);
+        } else {
+            Path directory = file.toAbsolutePath().getParent();
+            scratchFile = Files.createTempFile(directory, "datestore", ".tmp");
+            scratch = create(scratchFile, segmentMask + 1);
+        }
+        try {
+            DateStore source = this;
+            DateStore target = scratch;
+            for (int shift = 0; shift < 32; shift += RADIX_BITS) {
+                if (source.radixPass(target, shift)) {
+                    DateStore swap = source;
+                    source = target;
+                    target = swap;
+                }
+            }
+            if (source != this) {
+                for (int i = 0; (long) i << segmentShift < size; i++) {
+                    IntBuffer sorted = scratch.segments.get(i).duplicate();
+                    sorted.limit((int) Math.min(size - ((long) i << segmentShift), segmentMask + 1L));
+                    segments.get(i).duplicate().put(sorted);
+                }
+            }
+        } finally {
+            scratch.close();
+            if (scratchFile != null) {
+                deleteScratch(scratchFile);
+            }
+        }
+    }
+
+
+    /**
+     * Deletes the scratch file of a sort, or schedules it for deletion on exit if it's still mapped.
+     */
+    static void deleteScratch(Path scratchFile) {
+        try {
+            Files.deleteIfExists(scratchFile);
+        } catch (IOException e) {
+            scratchFile.toFile().deleteOnExit();
+        }
+    }
+
+
+    /**
+     * <b>Writes the number of dates to the header and forces the changes of a mapped store to the file.</b><br>
+     * Does nothing for a store in direct buffers.
+     * @since 3.1.0
+     */
+    public void flush() {
+        if (header == null) {
+            return;
+        }
+        header.putLong(SIZE_OFFSET, size);
+        header.force();
+        for (ByteBuffer buffer : buffers) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+
+    /**
+     * <b>Flushes a mapped store and closes its file.</b><br>
+     * The memory of the buffers is released when they are garbage collected.
+     * @throws IOException if the file can't be closed.
+     * @since 3.1.0
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            flush();
+            channel.close();
+        }
+        buffers.clear();
+        segments.clear();
+        size = 0;
+    }
+
+
+    /**
+     * Moves the dates to {@code target}, ordered by the 16 bits digit at {@code shift}.
+     * @return false if every date has the same digit, so nothing was moved.
+     */
+    private boolean radixPass(DateStore target, int shift) {
+        long[][] counts = new long[1][1 << RADIX_BITS];
+        long[] offsets = counts[0];
+        forEach(day -> offsets[RadixSort.digit(day, shift, RADIX_BITS)]++);
+        if (!RadixSort.toOffsets(counts, size)) {
+            return false;
+        }
+        target.ensureCapacity(size);
+        target.size = size;
+        forEach(day -> target.set(offsets[RadixSort.digit(day, shift, RADIX_BITS)]++, day));
+        return true;
+    }
+
+
+    /**
+     * Adds segments until there's room for {@code capacity} dates.
+     * @throws UncheckedIOException if a segment of the file can't be mapped.
+     */
+    private void ensureCapacity(long capacity) {
+        long segmentBytes = (segmentMask + 1L) * Integer.BYTES;
+        while (((long) segments.size() << segmentShift) < capacity) {
+            ByteBuffer buffer;
+            if (channel == null) {
+                buffer = ByteBuffer.allocateDirect((int) segmentBytes);
+            } else {
+                try {
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE,
+                            HEADER_SIZE + segments.size() * segmentBytes, segmentBytes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffers.add(buffer);
+            segments.add(buffer.asIntBuffer());
+        }
+    }
+
+
+    /**
+     * Checks that an index is within the store.
+     */
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of a store of " + size + " dates");
+        }
+    }
+
+}
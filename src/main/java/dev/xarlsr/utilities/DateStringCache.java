@@ -0,0 +1,204 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * <b>Thread safe cache of formatted dates, keyed by pattern and epoch day.</b><br>
+ * Reports usually format the same few thousand dates over and over. With a cache,
+ * {@link DateUtils#dateToString(LocalDate, String)} returns the <code>String</code> formatted
+ * the first time instead of formatting and allocating a new one on every call.<br>
+ * Every pattern gets a table with a fixed number of slots, and every epoch day goes to the slot
+ * given by its low bits, so consecutive dates never share a slot: a table of 4096 slots keeps
+ * more than eleven years of dates. When a date lands on a slot holding another one, the old
+ * date is evicted. Memory is bounded by the number of slots and the number of patterns; dates
+ * of patterns beyond that number are formatted without caching.<br>
+ * The cache is opt-in: it's used by the {@code dateToString} methods once it's set by
+ * {@link DateUtils#setDateStringCache(DateStringCache)}.
+ * @since 3.1.0
+ */
+public final class DateStringCache {
+
+    /**
+     * Default number of slots of every pattern.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Default number of cached patterns.
+     */
+    public static final int DEFAULT_MAX_PATTERNS = 16;
+
+    /**
+     * Key of the table used by {@link DateUtils#dateToString(LocalDate)}, not a valid pattern.
+     */
+    static final String BASIC_ISO_DATE = "BASIC_ISO_DATE";
+
+    private final int mask;
+    private final int maxPatterns;
+    private final ConcurrentHashMap<String, AtomicReferenceArray<Entry>> tables = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+
+    /**
+     * <b>Creates a cache with the default capacity and number of patterns.</b>
+     * @since 3.1.0
+     */
+    public DateStringCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_PATTERNS);
+    }
+
+
+    /**
+     * <b>Creates a cache with {@code capacity} slots for each of up to {@code maxPatterns} patterns.</b><br>
+     * @param capacity Number of dates kept by every pattern, rounded up to a power of two.
+     * @param maxPatterns Max number of cached patterns.
+     * @throws IllegalArgumentException if {@code capacity} is not between 1 and 2^30, or {@code maxPatterns} is negative.
+     * @since 3.1.0
+     */
+    public DateStringCache(int capacity, int maxPatterns) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Wrong capacity: " + capacity);
+        }
+        if (maxPatterns < 0) {
+            throw new IllegalArgumentException("Max patterns can't be negative: " + maxPatterns);
+        }
+        this.mask = (capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1) - 1;
+        this.maxPatterns = maxPatterns;
+    }
+
+
+    /**
+     * <b>Returns a date formatted with a pattern, from the cache if it was formatted before.</b><br>
+     * The date is formatted by the formatter {@link DateUtils#formatterCache()} compiles for the pattern.
+     * @param date <code>LocalDate</code> to format.
+     * @param pattern <code>String</code> with a built-in or user defined pattern.
+     * @return <code>String</code> with the date formatted.
+     * @throws IllegalArgumentException if the pattern is not valid.
+     * @see DateUtils#dateToString(LocalDate, String)
+     * @since 3.1.0
+     */
+    public String format(LocalDate date, String pattern) {
+        return format(date, pattern, DateUtils.formatterCache().get(pattern));
+    }
+
+
+    /**
+     * Returns a date formatted with {@code formatter}, cached in the table of {@code key}.
+     */
+    String format(LocalDate date, String key, DateTimeFormatter formatter) {
+        AtomicReferenceArray<Entry> table = table(key);
+        if (table == null) {
+            misses.increment();
+            return date.format(formatter);
+        }
+        long epochDay = date.toEpochDay();
+        int slot = (int) epochDay & mask;
+        Entry entry = table.get(slot);
+        if (entry != null && entry.epochDay == epochDay) {
+            hits.increment();
+            return entry.text;
+        }
+        misses.increment();
+        String text = date.format(formatter);
+        if (entry != null) {
+            evictions.increment();
+        }
+        table.set(slot, new Entry(epochDay, text));
+        return text;
+    }
+
+
+    /**
+     * <b>Returns the number of dates returned from the cache.</b>
+     * @return Number of hits since the cache was created or cleared.
+     * @since 3.1.0
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of dates that needed to be formatted.</b>
+     * @return Number of misses since the cache was created or cleared.
+     * @since 3.1.0
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of cached dates replaced by other dates of the same slot.</b>
+     * @return Number of evictions since the cache was created or cleared.
+     * @since 3.1.0
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of slots of every pattern.</b>
+     * @return Capacity of every pattern, a power of two.
+     * @since 3.1.0
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+
+    /**
+     * <b>Removes all the formatted dates and patterns, and resets the counters.</b>
+     * @since 3.1.0
+     */
+    public void clear() {
+        tables.clear();
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+
+    /**
+     * Returns the table of a pattern, creating it if there's room for it, or null if there's not.
+     */
+    private AtomicReferenceArray<Entry> table(String key) {
+        AtomicReferenceArray<Entry> table = tables.get(key);
+        if (table == null && tables.size() < maxPatterns) {
+            table = tables.computeIfAbsent(key, k -> new AtomicReferenceArray<>(mask + 1));
+        }
+        return table;
+    }
+
+
+    /**
+     * Formatted date of a slot. Both fields are final, so it's safely published to other threads.
+     */
+    private static final class Entry {
+        final long epochDay;
+        final String text;
+
+        Entry(long epochDay, String text) {
+            this.epochDay = epochDay;
+            this.text = text;
+        }
+    }
+
+}
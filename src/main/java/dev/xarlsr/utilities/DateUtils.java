@@ -9,14 +9,25 @@
  */
 package dev.xarlsr.utilities;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.BitSet;
 import java.util.Locale;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 
 /**
@@ -50,27 +61,72 @@ public class DateUtils {
 	 */
 	public static final String BNKS = "ddMMyy";
 	public static final Locale LOCALE_ES = new Locale("es", "ES");
-	
+	/**
+	 * Value returned by the methods returning a primitive epoch day when the text is not a valid date.
+	 */
+	public static final long INVALID_EPOCH_DAY = Long.MIN_VALUE;
+
+	/**
+	 * Number of elements from which bulk methods work in parallel.
+	 */
+	static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	/**
+	 * Number of 64 bit words of the result handled by every parallel task of {@link #validDates(String[], String)}.
+	 */
+	private static final int VALIDATION_BLOCK_WORDS = 256;
+
+	/**
+	 * Compiled formatters of the patterns used by the pattern-taking methods.
+	 */
+	private static final FormatterCache FORMATTERS = new FormatterCache();
+
+	/**
+	 * Canonical dates returned by the parsing methods, null when they return new instances.
+	 */
+	private static volatile LocalDateCache localDates;
+
+	/**
+	 * Formatted dates returned by {@code dateToString}, null when they are formatted on every call.
+	 */
+	private static volatile DateStringCache dateStrings;
+
+	/**
+	 * Parse failures by kind, indexed by ordinal.
+	 */
+	private static final LongAdder[] PARSE_FAILURES = new LongAdder[DateParseError.values().length];
+
+	static {
+		for (int i = 0; i < PARSE_FAILURES.length; i++) {
+			PARSE_FAILURES[i] = new LongAdder();
+		}
+	}
+
 
 
 	/**
 	 * <b>Converts a <code>String</code> representing a date into a <code>LocalDate</code> object containing that date.</b><br>
-	 * Conversion between date formats is supported via parameters.
+	 * Conversion between date formats is supported via parameters.<br>
+	 * Dates in the fixed width built-in formats ({@link #USA}, {@link #ESP}, {@link #ESPS},
+	 * {@link #BNK}, {@link #BNKS} and <code>yyyyMMdd</code>) are parsed by a fast specialized
+	 * parser, with the same results as <code>DateTimeFormatter</code>.
 	 * @param dateString <code>String</code> with the date to convert.
 	 * @param inputFormat <code>String</code> with the input format of the string date. A custom user defined can be user or one of the built-in formats.
 	 * @return {@link LocalDate} object with converted date.
 	 * @since 2.3.3
+	 * @see #parse(String, String)
 	 */
 	public static LocalDate stringToDate(String dateString, String inputFormat) throws DateTimeParseException {
 		// TODO  Mirar si interesa que lance la excepcion o que la maneje en el catch
-		DateTimeFormatter dtf = DateTimeFormatter.ofPattern(inputFormat);
-		DateTimeFormatter errdtf = DateTimeFormatter.BASIC_ISO_DATE;
-		try {
-			return LocalDate.parse(dateString, dtf);
-		} catch (DateTimeParseException e) {
-			System.out.println("The entered date is not valid or doesn't match the input format");
+		DateParseResult result = parse(dateString, inputFormat);
+		if (result.isValid()) {
+			return toLocalDate(result.epochDay());
+		}
+		if (result.error() == DateParseError.INVALID_PATTERN) {
+			throw new IllegalArgumentException("Not a valid date pattern: " + inputFormat);
 		}
-		return LocalDate.parse("19000101", errdtf);
+		System.out.println("The entered date is not valid or doesn't match the input format");
+		return LocalDate.of(1900, 1, 1);
 	}
 
 
@@ -82,15 +138,266 @@ public class DateUtils {
 	 * @since 2.3.3
 	 * @see String
 	 * @see LocalDate
+	 * @see #parse(String)
 	 */
 	public static LocalDate stringToDate(String dateString) throws DateTimeParseException {
-		DateTimeFormatter dtf = DateTimeFormatter.BASIC_ISO_DATE;
+		DateParseResult result = parse(dateString);
+		if (result.isValid()) {
+			return toLocalDate(result.epochDay());
+		}
+		System.out.println("The entered date is not valid or doesn't match the input format");
+		return LocalDate.of(1900, 1, 1);
+	}
+
+
+	/**
+	 * <b>Parses a <code>String</code> representing a date in a given format, returning a structured result.</b><br>
+	 * Unlike {@link #stringToDate(String, String)}, a failure is not written to the console nor
+	 * turned into the 1900-01-01 date: the result tells the kind of error and the index of the
+	 * text where it was found. Built-in formats are parsed without exceptions, but for the few
+	 * texts rejected by the fast parser and matched by <code>DateTimeFormatter</code>. Custom patterns are
+	 * matched without exceptions, and only unusual field combinations need <code>java.time</code>
+	 * to resolve them; the index of their range errors is 0.<br>
+	 * Every failure is counted by kind, see {@link #parseFailureCount(DateParseError)}.
+	 * @param dateString <code>String</code> with the date to convert.
+	 * @param inputFormat <code>String</code> with the input format of the string date. A built-in or user defined format.
+	 * @return {@link DateParseResult} with the date or the error.
+	 * @since 3.1.0
+	 */
+	public static DateParseResult parse(String dateString, String inputFormat) {
+		BuiltInFormat builtIn = BuiltInFormat.of(inputFormat);
+		if (builtIn != null) {
+			return parse(dateString, builtIn, false);
+		}
+		if (dateString == null) {
+			return failed(DateParseResult.failure(DateParseError.NULL_INPUT, 0));
+		}
+		DateTimeFormatter formatter;
+		try {
+			formatter = FORMATTERS.get(inputFormat);
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return failed(DateParseResult.failure(DateParseError.INVALID_PATTERN, 0));
+		}
+		ParsePosition position = new ParsePosition(0);
+		TemporalAccessor parsed = formatter.parseUnresolved(dateString, position);
+		if (parsed == null || position.getErrorIndex() >= 0) {
+			return failed(DateParseResult.failure(DateParseError.TEXT_MISMATCH, Math.max(position.getErrorIndex(), 0)));
+		}
+		if (position.getIndex() != dateString.length()) {
+			return failed(DateParseResult.failure(DateParseError.TEXT_MISMATCH, position.getIndex()));
+		}
+		if (parsed.isSupported(ChronoField.YEAR_OF_ERA) && parsed.isSupported(ChronoField.MONTH_OF_YEAR)
+				&& parsed.isSupported(ChronoField.DAY_OF_MONTH)) {
+			// Custom patterns may have years beyond 9999, only the lower bound is checked.
+			DateParseResult rangeError = BuiltInFormat.rangeError(Math.min(parsed.getLong(ChronoField.YEAR_OF_ERA), 9999),
+					parsed.getLong(ChronoField.MONTH_OF_YEAR), parsed.getLong(ChronoField.DAY_OF_MONTH), false, 0, 0, 0);
+			if (rangeError != null) {
+				return failed(rangeError);
+			}
+		}
 		try {
-			return LocalDate.parse(dateString, dtf);
-		} catch (DateTimeParseException e) {
-			System.out.println("The entered date is not valid or doesn't match the input format");
+			return DateParseResult.success(LocalDate.parse(dateString, formatter).toEpochDay());
+		} catch (DateTimeException e) {
+			return failed(DateParseResult.failure(DateParseError.UNRESOLVED, 0));
+		}
+	}
+
+
+	/**
+	 * <b>Parses a <code>String</code> representing a date in <code>BASIC_ISO_DATE</code> (yyyyMMdd) format, returning a structured result.</b><br>
+	 * Days beyond the end of their month are not valid. Nothing is written to the console, and texts rejected
+	 * by the fast parser are parsed by <code>BASIC_ISO_DATE</code>, as {@link #stringToDate(String)} always did.
+	 * @param dateString <code>String</code> with the date to convert.
+	 * @return {@link DateParseResult} with the date or the error.
+	 * @see #parse(String, String)
+	 * @since 3.1.0
+	 */
+	public static DateParseResult parse(String dateString) {
+		return parse(dateString, BuiltInFormat.BASIC_ISO, true);
+	}
+
+
+	/**
+	 * <b>Returns the number of parse failures of a kind.</b><br>
+	 * All the failures of {@link #parse(String, String)}, {@link #parse(String)} and
+	 * the <code>stringToDate</code> methods are counted, from any thread.
+	 * @param error Kind of error.
+	 * @return Number of failures of that kind since the start or the last reset.
+	 * @since 3.1.0
+	 */
+	public static long parseFailureCount(DateParseError error) {
+		return PARSE_FAILURES[error.ordinal()].sum();
+	}
+
+
+	/**
+	 * <b>Resets the parse failure counters.</b>
+	 * @see #parseFailureCount(DateParseError)
+	 * @since 3.1.0
+	 */
+	public static void resetParseFailureCounts() {
+		for (LongAdder counter : PARSE_FAILURES) {
+			counter.reset();
 		}
-		return LocalDate.parse("19000101", dtf);
+	}
+
+
+	/**
+	 * Parses a date in a built-in format. When the fast parser fails, the text is parsed by the
+	 * <code>DateTimeFormatter</code> of the format, which also accepts some texts the fast parser
+	 * doesn't (year 0000, the offset suffix of <code>BASIC_ISO_DATE</code>), and the error is
+	 * diagnosed only if it fails too.
+	 */
+	private static DateParseResult parse(String dateString, BuiltInFormat format, boolean strict) {
+		if (dateString == null) {
+			return failed(DateParseResult.failure(DateParseError.NULL_INPUT, 0));
+		}
+		long epochDay = format.parse(dateString, 0, dateString.length(), strict);
+		if (epochDay != INVALID_EPOCH_DAY) {
+			return DateParseResult.success(epochDay);
+		}
+		DateTimeFormatter formatter = format == BuiltInFormat.BASIC_ISO && strict
+				? DateTimeFormatter.BASIC_ISO_DATE : FORMATTERS.get(format.pattern());
+		ParsePosition position = new ParsePosition(0);
+		// Only a text matched by the formatter is resolved, so most failures don't throw.
+		if (formatter.parseUnresolved(dateString, position) != null && position.getErrorIndex() < 0
+				&& position.getIndex() == dateString.length()) {
+			try {
+				return DateParseResult.success(LocalDate.parse(dateString, formatter).toEpochDay());
+			} catch (DateTimeException e) {
+				// Not a valid date, diagnosed below.
+			}
+		}
+		return failed(format.diagnose(dateString, 0, dateString.length(), strict));
+	}
+
+
+	/**
+	 * Counts a failure by its kind.
+	 */
+	private static DateParseResult failed(DateParseResult failure) {
+		PARSE_FAILURES[failure.error().ordinal()].increment();
+		return failure;
+	}
+
+
+	/**
+	 * <b>Converts a date in a built-in format, read from a slice of a <code>CharSequence</code>, into a <code>LocalDate</code>.</b><br>
+	 * The date is parsed in place, without building an intermediate <code>String</code>.
+	 * Results are the same as {@link #stringToDate(String, String)} for a valid date.
+	 * @param text <code>CharSequence</code> containing the date, i.e. a <code>StringBuilder</code> or a <code>CharBuffer</code>.
+	 * @param offset Index of the first character of the date.
+	 * @param length Number of characters of the date.
+	 * @param inputFormat <code>String</code> with one of the built-in formats.
+	 * @return {@link LocalDate} object with converted date.
+	 * @throws DateTimeParseException if the text is not a valid date in the format.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @see BuiltInFormat
+	 * @since 3.1.0
+	 */
+	public static LocalDate parseDate(CharSequence text, int offset, int length, String inputFormat) throws DateTimeParseException {
+		long epochDay = toEpochDay(text, offset, length, inputFormat);
+		if (epochDay == INVALID_EPOCH_DAY) {
+			throw new DateTimeParseException("The entered date is not valid or doesn't match the input format", text, offset);
+		}
+		return toLocalDate(epochDay);
+	}
+
+
+	/**
+	 * <b>Converts a date in a built-in format, read from a slice of a <code>byte</code> array, into a <code>LocalDate</code>.</b><br>
+	 * The bytes are read as ASCII characters, without decoding them to a <code>String</code>.
+	 * @param bytes Array containing the date, i.e. a network buffer.
+	 * @param offset Index of the first byte of the date.
+	 * @param length Number of bytes of the date.
+	 * @param inputFormat <code>String</code> with one of the built-in formats.
+	 * @return {@link LocalDate} object with converted date.
+	 * @throws DateTimeParseException if the bytes are not a valid date in the format.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @see #parseDate(CharSequence, int, int, String)
+	 * @since 3.1.0
+	 */
+	public static LocalDate parseDate(byte[] bytes, int offset, int length, String inputFormat) throws DateTimeParseException {
+		long epochDay = toEpochDay(bytes, offset, length, inputFormat);
+		if (epochDay == INVALID_EPOCH_DAY) {
+			throw new DateTimeParseException("The entered date is not valid or doesn't match the input format",
+					asciiText(ByteBuffer.wrap(bytes), offset, length), 0);
+		}
+		return toLocalDate(epochDay);
+	}
+
+
+	/**
+	 * <b>Converts a date in a built-in format, read from a slice of a <code>ByteBuffer</code>, into a <code>LocalDate</code>.</b><br>
+	 * The bytes are read as ASCII characters with absolute gets, so the position of the buffer is not changed.
+	 * @param buffer Buffer containing the date. It may be a heap, direct or memory mapped buffer.
+	 * @param offset Index of the first byte of the date.
+	 * @param length Number of bytes of the date.
+	 * @param inputFormat <code>String</code> with one of the built-in formats.
+	 * @return {@link LocalDate} object with converted date.
+	 * @throws DateTimeParseException if the bytes are not a valid date in the format.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @see #parseDate(CharSequence, int, int, String)
+	 * @since 3.1.0
+	 */
+	public static LocalDate parseDate(ByteBuffer buffer, int offset, int length, String inputFormat) throws DateTimeParseException {
+		long epochDay = toEpochDay(buffer, offset, length, inputFormat);
+		if (epochDay == INVALID_EPOCH_DAY) {
+			throw new DateTimeParseException("The entered date is not valid or doesn't match the input format",
+					asciiText(buffer, offset, length), 0);
+		}
+		return toLocalDate(epochDay);
+	}
+
+
+	/**
+	 * <b>Converts a date in a built-in format, read from a slice of a <code>CharSequence</code>, into its epoch day.</b><br>
+	 * Nothing is allocated, not even on failure.
+	 * @param text <code>CharSequence</code> containing the date.
+	 * @param offset Index of the first character of the date.
+	 * @param length Number of characters of the date.
+	 * @param inputFormat <code>String</code> with one of the built-in formats.
+	 * @return Epoch day of the date, as {@code LocalDate.toEpochDay()}, or {@link #INVALID_EPOCH_DAY} if it's not a valid date.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @see BuiltInFormat#toEpochDay(CharSequence, int, int)
+	 * @since 3.1.0
+	 */
+	public static long toEpochDay(CharSequence text, int offset, int length, String inputFormat) {
+		return builtInFormat(inputFormat).toEpochDay(text, offset, length);
+	}
+
+
+	/**
+	 * <b>Converts a date in a built-in format, read from a slice of a <code>byte</code> array, into its epoch day.</b><br>
+	 * Nothing is allocated, not even on failure.
+	 * @param bytes Array containing the date.
+	 * @param offset Index of the first byte of the date.
+	 * @param length Number of bytes of the date.
+	 * @param inputFormat <code>String</code> with one of the built-in formats.
+	 * @return Epoch day of the date, or {@link #INVALID_EPOCH_DAY} if it's not a valid date.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @see BuiltInFormat#toEpochDay(byte[], int, int)
+	 * @since 3.1.0
+	 */
+	public static long toEpochDay(byte[] bytes, int offset, int length, String inputFormat) {
+		return builtInFormat(inputFormat).toEpochDay(bytes, offset, length);
+	}
+
+
+	/**
+	 * <b>Converts a date in a built-in format, read from a slice of a <code>ByteBuffer</code>, into its epoch day.</b><br>
+	 * Nothing is allocated, not even on failure, and the position of the buffer is not changed.
+	 * @param buffer Buffer containing the date.
+	 * @param offset Index of the first byte of the date.
+	 * @param length Number of bytes of the date.
+	 * @param inputFormat <code>String</code> with one of the built-in formats.
+	 * @return Epoch day of the date, or {@link #INVALID_EPOCH_DAY} if it's not a valid date.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @see BuiltInFormat#toEpochDay(ByteBuffer, int, int)
+	 * @since 3.1.0
+	 */
+	public static long toEpochDay(ByteBuffer buffer, int offset, int length, String inputFormat) {
+		return builtInFormat(inputFormat).toEpochDay(buffer, offset, length);
 	}
 
 
@@ -101,10 +408,12 @@ public class DateUtils {
 	 * @return <code>String</code> with the localDate object formatted.
 	 * @see String
 	 * @see LocalDate
+	 * @see #setDateStringCache(DateStringCache)
 	 */
 	public static String dateToString(LocalDate localDate, String outputPattern){
-		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(outputPattern);
-		return localDate.format(formatter);
+		DateTimeFormatter formatter = FORMATTERS.get(outputPattern);
+		DateStringCache cache = dateStrings;
+		return cache == null ? localDate.format(formatter) : cache.format(localDate, outputPattern, formatter);
 	}
 
 
@@ -114,10 +423,66 @@ public class DateUtils {
 	 * @since Version 2.3.0
 	 * @see String
 	 * @see LocalDate
+	 * @see #setDateStringCache(DateStringCache)
 	 */
 	public static String dateToString(LocalDate localDate) {
 		DateTimeFormatter formatter = DateTimeFormatter.BASIC_ISO_DATE;
-		return localDate.format(formatter);
+		DateStringCache cache = dateStrings;
+		return cache == null ? localDate.format(formatter)
+				: cache.format(localDate, DateStringCache.BASIC_ISO_DATE, formatter);
+	}
+
+
+	/**
+	 * <b>Appends a <code>LocalDate</code> in a built-in format to an <code>Appendable</code>.</b><br>
+	 * Unlike {@link #dateToString(LocalDate, String)}, no <code>String</code> is created: the
+	 * characters go straight to the destination, i.e. a <code>StringBuilder</code> or a writer.
+	 * @param localDate <code>LocalDate</code> to be converted.
+	 * @param outputPattern <code>String</code> with a built-in format.
+	 * @param destination <code>Appendable</code> to append the date to.
+	 * @return Number of characters appended.
+	 * @throws IOException if the destination can't be written.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @see BuiltInFormat#format(long, Appendable)
+	 * @since 3.1.0
+	 */
+	public static int dateToString(LocalDate localDate, String outputPattern, Appendable destination) throws IOException {
+		return builtInFormat(outputPattern).format(localDate.toEpochDay(), destination);
+	}
+
+
+	/**
+	 * <b>Writes a <code>LocalDate</code> in a built-in format into a <code>char</code> array.</b><br>
+	 * @param localDate <code>LocalDate</code> to be converted.
+	 * @param outputPattern <code>String</code> with a built-in format.
+	 * @param destination Array to write to.
+	 * @param offset Index of the first character to write.
+	 * @return Number of characters written.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @throws IndexOutOfBoundsException if the date doesn't fit in the array.
+	 * @see BuiltInFormat#format(long, char[], int)
+	 * @since 3.1.0
+	 */
+	public static int dateToString(LocalDate localDate, String outputPattern, char[] destination, int offset) {
+		return builtInFormat(outputPattern).format(localDate.toEpochDay(), destination, offset);
+	}
+
+
+	/**
+	 * <b>Writes a <code>LocalDate</code> in a built-in format into a <code>ByteBuffer</code>, as ASCII bytes.</b><br>
+	 * The position of the buffer is not changed.
+	 * @param localDate <code>LocalDate</code> to be converted.
+	 * @param outputPattern <code>String</code> with a built-in format.
+	 * @param destination Buffer to write to.
+	 * @param offset Index of the first byte to write.
+	 * @return Number of bytes written.
+	 * @throws IllegalArgumentException if the format is not a built-in one.
+	 * @throws IndexOutOfBoundsException if the date doesn't fit before the limit of the buffer.
+	 * @see BuiltInFormat#format(long, ByteBuffer, int)
+	 * @since 3.1.0
+	 */
+	public static int dateToString(LocalDate localDate, String outputPattern, ByteBuffer destination, int offset) {
+		return builtInFormat(outputPattern).format(localDate.toEpochDay(), destination, offset);
 	}
 
 
@@ -125,7 +490,9 @@ public class DateUtils {
 	 * <b>Converts a String representing a date from a format to other.</b><br>
 	 * The parsing method fixes some input date mistakes, i.e. june 31th will be
 	 * parsed to july, 1st. February 29th of a non leap year will be parsed to
-	 * March, 1st.
+	 * March, 1st.<br>
+	 * The conversion is done by a {@link DateFormatConverter}. To convert many dates between
+	 * the same formats, create the converter once and reuse it.
 	 * @param inputDate <code>String</code> with the date to to convert.
 	 * @param inputFormat <code>String</code> with the input format. A built-in format
 	 *                      can be used or a user's custom one.
@@ -134,41 +501,289 @@ public class DateUtils {
 	 * @throws ParseException when the input date is not parseable because doesn't match the input format.
 	 * @return <code>String</code> converted to the output format.
 	 * @since v2.3.6
-	 * @see SimpleDateFormat
+	 * @see DateFormatConverter
 	 * @see ParseException
 	 */
 	public static String dateFormatChanger(String inputDate, String inputFormat, String outputFormat) throws ParseException {
-		//Defines input default format.
-		String input = inputFormat.isEmpty() ? "yyyyMMdd" : inputFormat;
-		//Defines output default format.
-		String output = outputFormat.isEmpty() ? "yyyyMMdd" : outputFormat;
-		String outputDate;
-		outputDate = new SimpleDateFormat(output, LOCALE_ES).format(new SimpleDateFormat(input, LOCALE_ES).parse(inputDate));
-		return outputDate;
+		return new DateFormatConverter(inputFormat, outputFormat).convert(inputDate);
 	}
 
 
 	/**
 	 * <b>Checks if a <code>String</code> representing a date is valid or not.</b><br>
+	 * The check is silent and never throws: nothing is written to the console and no exception
+	 * is used, so it can be called for millions of dates.
 	 * @param strDate <code>String</code> representing the date to check.
-	 * It must stick the "yyyyMMdd" format (<code>BASIC_ISO_DATE</code>).
+	 * It must stick the "yyyyMMdd" format (<code>BASIC_ISO_DATE</code>), with a year from 0001 to 9999.
 	 * @return True or false
 	 * @since Version 2.1.0
 	 */
 	public static boolean isValidDate (String strDate) {
-		DateTimeFormatter dtFormatter = DateTimeFormatter.BASIC_ISO_DATE
-				.withResolverStyle(ResolverStyle.STRICT);
+		return strDate != null && BuiltInFormat.BASIC_ISO.parse(strDate, 0, strDate.length(), true) != INVALID_EPOCH_DAY;
+	}
+
+
+	/**
+	 * <b>Checks if a <code>String</code> representing a date in a given format is valid or not.</b><br>
+	 * The date must match the format and be a real date: june 31th or february 29th of a
+	 * non leap year are not valid. The check is silent and never throws. Built-in formats are
+	 * checked without exceptions; custom patterns are matched without exceptions too, but
+	 * dates with unusual fields may need <code>java.time</code> to resolve them.
+	 * @param strDate <code>String</code> representing the date to check.
+	 * @param format <code>String</code> with a built-in or user defined format.
+	 * @return True or false. False too if the format is null or not a valid pattern.
+	 * @see #validDates(String[], String)
+	 * @since 3.1.0
+	 */
+	public static boolean isValidDate(String strDate, String format) {
+		if (format == null) {
+			return false;
+		}
+		BuiltInFormat builtIn = BuiltInFormat.of(format);
+		if (builtIn != null) {
+			return strDate != null && builtIn.parse(strDate, 0, strDate.length(), true) != INVALID_EPOCH_DAY;
+		}
 		try {
-			LocalDate ld = LocalDate.parse(strDate, dtFormatter);
-			System.out.println();
+			DateTimeFormatter formatter = FORMATTERS.get(format);
+			return isValidDate(strDate, formatter, strictFormatter(format, formatter));
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+
+	/**
+	 * <b>Checks a bulk of <code>String</code> dates in a given format.</b><br>
+	 * Every date is checked as {@link #isValidDate(String, String)} does. Big arrays are
+	 * checked in parallel, every thread filling its own words of the result.
+	 * @param dates Array with the dates to check. Null elements are not valid.
+	 * @param format <code>String</code> with a built-in or user defined format.
+	 * @return <code>BitSet</code> with the positions of the valid dates set, empty if the format
+	 * is null or not a valid pattern.
+	 * @since 3.1.0
+	 */
+	public static BitSet validDates(String[] dates, String format) {
+		if (format == null) {
+			return new BitSet();
+		}
+		BuiltInFormat builtIn = BuiltInFormat.of(format);
+		DateTimeFormatter formatter;
+		try {
+			formatter = builtIn == null ? FORMATTERS.get(format) : null;
+		} catch (IllegalArgumentException e) {
+			return new BitSet();
+		}
+		DateTimeFormatter strict = builtIn == null ? strictFormatter(format, formatter) : null;
+		long[] words = new long[(dates.length + 63) >>> 6];
+		int blocks = (words.length + VALIDATION_BLOCK_WORDS - 1) / VALIDATION_BLOCK_WORDS;
+		IntStream range = IntStream.range(0, blocks);
+		if (dates.length >= PARALLEL_THRESHOLD) {
+			range = range.parallel();
+		}
+		range.forEach(block -> {
+			int from = block * VALIDATION_BLOCK_WORDS * 64;
+			int to = Math.min(dates.length, from + VALIDATION_BLOCK_WORDS * 64);
+			for (int i = from; i < to; i++) {
+				String date = dates[i];
+				boolean valid = builtIn != null
+						? date != null && builtIn.parse(date, 0, date.length(), true) != INVALID_EPOCH_DAY
+						: isValidDate(date, formatter, strict);
+				if (valid) {
+					words[i >>> 6] |= 1L << i;
+				}
+			}
+		});
+		return BitSet.valueOf(words);
+	}
+
+
+	/**
+	 * <b>Checks a stream of <code>String</code> dates in a given format.</b><br>
+	 * @param dates Stream with the dates to check.
+	 * @param format <code>String</code> with a built-in or user defined format.
+	 * @return <code>BitSet</code> with the positions, in encounter order, of the valid dates set.
+	 * @see #validDates(String[], String)
+	 * @since 3.1.0
+	 */
+	public static BitSet validDates(Stream<String> dates, String format) {
+		return validDates(dates.toArray(String[]::new), format);
+	}
+
+
+	/**
+	 * Checks a date with a custom pattern. The text is matched without resolving, so a
+	 * mismatch doesn't throw. When the pattern only has year, month and day fields they are
+	 * checked strictly here; any other field, as a day of week or an hour, needs the STRICT
+	 * resolver of <code>java.time</code> to be checked against the date.
+	 * @param strict STRICT copy of the formatter, or null if the pattern only has year, month and day fields.
+	 */
+	private static boolean isValidDate(String strDate, DateTimeFormatter formatter, DateTimeFormatter strict) {
+		if (strDate == null) {
+			return false;
+		}
+		ParsePosition position = new ParsePosition(0);
+		TemporalAccessor parsed = formatter.parseUnresolved(strDate, position);
+		if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != strDate.length()) {
+			return false;
+		}
+		if (strict == null) {
+			ChronoField yearField = parsed.isSupported(ChronoField.YEAR_OF_ERA) ? ChronoField.YEAR_OF_ERA : ChronoField.YEAR;
+			if (!parsed.isSupported(yearField) || !parsed.isSupported(ChronoField.MONTH_OF_YEAR)
+					|| !parsed.isSupported(ChronoField.DAY_OF_MONTH)) {
+				return false;
+			}
+			long year = parsed.getLong(yearField);
+			long month = parsed.getLong(ChronoField.MONTH_OF_YEAR);
+			long day = parsed.getLong(ChronoField.DAY_OF_MONTH);
+			return year >= 1 && year <= 9999 && month >= 1 && month <= 12 && day >= 1 && day <= 31
+					&& BuiltInFormat.resolve((int) year, (int) month, (int) day, true) != INVALID_EPOCH_DAY;
+		}
+		try {
+			LocalDate.from(strict.parse(strDate));
 			return true;
-		} catch (DateTimeParseException e) {
-			System.out.println("The entered date is not valid");
+		} catch (DateTimeException e) {
 			return false;
 		}
 	}
 
 
+	/**
+	 * Returns the STRICT copy of the formatter of a pattern needed by
+	 * {@link #isValidDate(String, DateTimeFormatter, DateTimeFormatter)}, or null if the pattern
+	 * only has year ({@code y}, {@code u}), month ({@code M}, {@code L}) and day of month ({@code d})
+	 * letters, besides quoted text and literals.
+	 */
+	private static DateTimeFormatter strictFormatter(String pattern, DateTimeFormatter formatter) {
+		return hasDateFieldsOnly(pattern) ? null : strict(formatter);
+	}
+
+
+	/**
+	 * Returns a STRICT copy of a formatter. The era defaults to the current one, so <code>yyyy</code>
+	 * patterns without era can be resolved strictly.
+	 */
+	private static DateTimeFormatter strict(DateTimeFormatter formatter) {
+		return new DateTimeFormatterBuilder()
+				.append(formatter)
+				.parseDefaulting(ChronoField.ERA, 1)
+				.toFormatter(formatter.getLocale())
+				.withDecimalStyle(formatter.getDecimalStyle())
+				.withChronology(formatter.getChronology())
+				.withZone(formatter.getZone())
+				.withResolverStyle(ResolverStyle.STRICT);
+	}
+
+
+	/**
+	 * Checks if a pattern only has year, month and day of month letters.
+	 */
+	private static boolean hasDateFieldsOnly(String pattern) {
+		boolean quoted = false;
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				quoted = !quoted;
+			} else if (!quoted && (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')
+					&& c != 'y' && c != 'u' && c != 'M' && c != 'L' && c != 'd') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Decodes the bytes of a failed date for the exception message, without going out of the buffer.
+	 */
+	private static String asciiText(ByteBuffer buffer, int offset, int length) {
+		int from = Math.max(0, Math.min(offset, buffer.limit()));
+		byte[] bytes = new byte[Math.max(0, Math.min(length, buffer.limit() - from))];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(from + i);
+		}
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+
+
+	/**
+	 * Returns the built-in format of a pattern.
+	 * @throws IllegalArgumentException if the pattern is not a built-in format.
+	 */
+	static BuiltInFormat builtInFormat(String pattern) {
+		BuiltInFormat format = BuiltInFormat.of(pattern);
+		if (format == null) {
+			throw new IllegalArgumentException("Not a built-in date format: " + pattern);
+		}
+		return format;
+	}
+
+
+	/**
+	 * <b>Returns the cache of compiled formatters used by the pattern-taking methods.</b><br>
+	 * Its hit, miss and eviction counters show how often patterns are being compiled.
+	 * @return {@link FormatterCache} shared by all the methods of this class.
+	 * @since 3.1.0
+	 */
+	public static FormatterCache formatterCache() {
+		return FORMATTERS;
+	}
+
+
+	/**
+	 * <b>Sets the cache of canonical dates returned by the parsing methods.</b><br>
+	 * With a cache, {@code stringToDate}, {@code parseDate} and the dates of {@link DateParseResult}
+	 * return the same instance for every parse of the same date, instead of a new one.
+	 * @param cache Cache to use, or null to return new instances again, as by default.
+	 * @see LocalDateCache
+	 * @since 3.1.0
+	 */
+	public static void setLocalDateCache(LocalDateCache cache) {
+		localDates = cache;
+	}
+
+
+	/**
+	 * <b>Returns the cache of canonical dates used by the parsing methods.</b><br>
+	 * @return The cache set by {@link #setLocalDateCache(LocalDateCache)}, or null if there's none.
+	 * @since 3.1.0
+	 */
+	public static LocalDateCache localDateCache() {
+		return localDates;
+	}
+
+
+	/**
+	 * Returns the date of an epoch day, from the canonical dates cache if it's set.
+	 */
+	static LocalDate toLocalDate(long epochDay) {
+		LocalDateCache cache = localDates;
+		return cache == null ? LocalDate.ofEpochDay(epochDay) : cache.get(epochDay);
+	}
+
+
+	/**
+	 * <b>Sets the cache of formatted dates returned by the {@code dateToString} methods.</b><br>
+	 * With a cache, formatting a date already formatted with the same pattern returns the same
+	 * <code>String</code>, instead of formatting it again.
+	 * @param cache Cache to use, or null to format every date again, as by default.
+	 * @see DateStringCache
+	 * @since 3.1.0
+	 */
+	public static void setDateStringCache(DateStringCache cache) {
+		dateStrings = cache;
+	}
+
+
+	/**
+	 * <b>Returns the cache of formatted dates used by the {@code dateToString} methods.</b><br>
+	 * @return The cache set by {@link #setDateStringCache(DateStringCache)}, or null if there's none.
+	 * @since 3.1.0
+	 */
+	public static DateStringCache dateStringCache() {
+		return dateStrings;
+	}
+
+
 	/**
 	 * <b>Generates a random date between two user selected dates.</b><br>
 	 * Got from https://www.baeldung.com/java-random-dates
@@ -185,4 +800,23 @@ public class DateUtils {
 		return LocalDate.ofEpochDay(randomDay);
 	}
 
+
+
+	/**
+	 * <b>Generates reproducible random dates between two user selected dates, as epoch days.</b><br>
+	 * The same seed always gives the same dates, even when they are generated in parallel.
+	 * Use a {@link RandomDateGenerator} for streams of dates or other distributions.
+	 * @param startInclusive <code>LocalDate</code>. Begin of the period within the dates will be generated.
+	 * @param endExclusive <code>LocalDate</code>. End of the period within the dates will be generated, excluded.
+	 * @param seed Seed of the generator.
+	 * @param count Number of dates to generate.
+	 * @return Array with the epoch days of the generated dates.
+	 * @throws IllegalArgumentException if the period is empty.
+	 * @see RandomDateGenerator#epochDays(int)
+	 * @since 3.1.0
+	 */
+	public static long[] generateRandomDates(LocalDate startInclusive, LocalDate endExclusive, long seed, int count) {
+		return new RandomDateGenerator(startInclusive, endExclusive, seed).epochDays(count);
+	}
+
 }
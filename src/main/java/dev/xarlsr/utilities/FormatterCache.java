@@ -0,0 +1,178 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * <b>Thread safe cache of compiled <code>DateTimeFormatter</code> objects, keyed by pattern.</b><br>
+ * Compiling a pattern with {@code DateTimeFormatter.ofPattern()} is much more expensive
+ * than using the compiled formatter, so {@link DateUtils} asks this cache for the formatter
+ * of every pattern it receives.<br>
+ * The formatters of the built-in {@link DateUtils} formats are compiled once and never
+ * evicted. User supplied patterns are kept up to the capacity of the cache; when it's
+ * exceeded the oldest pattern is evicted.
+ * @see DateUtils#formatterCache()
+ * @since 3.1.0
+ */
+public final class FormatterCache {
+
+    /**
+     * Default number of user supplied patterns kept by the cache.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Formatters of the built-in formats, never evicted.
+     */
+    private static final Map<String, DateTimeFormatter> BUILT_IN = Map.of(
+            DateUtils.USA, DateTimeFormatter.ofPattern(DateUtils.USA),
+            DateUtils.ESP, DateTimeFormatter.ofPattern(DateUtils.ESP),
+            DateUtils.ESPS, DateTimeFormatter.ofPattern(DateUtils.ESPS),
+            DateUtils.ESPL, DateTimeFormatter.ofPattern(DateUtils.ESPL),
+            DateUtils.BNK, DateTimeFormatter.ofPattern(DateUtils.BNK),
+            DateUtils.BNKS, DateTimeFormatter.ofPattern(DateUtils.BNKS),
+            "yyyyMMdd", DateTimeFormatter.ofPattern("yyyyMMdd"));
+
+    private final int capacity;
+    private final ConcurrentHashMap<String, DateTimeFormatter> custom = new ConcurrentHashMap<>();
+    /** User supplied patterns in insertion order, to find the one to evict. */
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+
+    /**
+     * <b>Creates a cache with the default capacity.</b>
+     * @since 3.1.0
+     */
+    public FormatterCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * <b>Creates a cache keeping up to {@code capacity} user supplied patterns.</b><br>
+     * @param capacity Max number of user supplied patterns. Built-in patterns are not counted.
+     * @throws IllegalArgumentException if {@code capacity} is negative.
+     * @since 3.1.0
+     */
+    public FormatterCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity can't be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * <b>Returns the compiled formatter of a pattern, compiling and caching it if needed.</b><br>
+     * The formatter is compiled by {@code DateTimeFormatter.ofPattern(pattern)}, so it uses the
+     * default locale at the time it's compiled.
+     * @param pattern <code>String</code> with a built-in or user defined pattern.
+     * @return Formatter of the pattern.
+     * @throws IllegalArgumentException if the pattern is not valid.
+     * @see DateTimeFormatter#ofPattern(String)
+     * @since 3.1.0
+     */
+    public DateTimeFormatter get(String pattern) {
+        DateTimeFormatter formatter = BUILT_IN.get(pattern);
+        if (formatter == null) {
+            formatter = custom.get(pattern);
+        }
+        if (formatter != null) {
+            hits.increment();
+            return formatter;
+        }
+        misses.increment();
+        formatter = DateTimeFormatter.ofPattern(pattern);
+        if (custom.putIfAbsent(pattern, formatter) == null) {
+            insertionOrder.add(pattern);
+            evict();
+        }
+        return formatter;
+    }
+
+
+    /**
+     * <b>Returns the number of requests answered with a formatter already compiled.</b>
+     * @return Number of hits since the cache was created or cleared.
+     * @since 3.1.0
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of requests that needed to compile the pattern.</b>
+     * @return Number of misses since the cache was created or cleared.
+     * @since 3.1.0
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of user supplied patterns evicted to keep the cache within its capacity.</b>
+     * @return Number of evictions since the cache was created or cleared.
+     * @since 3.1.0
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of user supplied patterns in the cache.</b>
+     * @return Number of cached user supplied patterns.
+     * @since 3.1.0
+     */
+    public int size() {
+        return custom.size();
+    }
+
+
+    /**
+     * <b>Removes all the user supplied patterns and resets the counters.</b>
+     * @since 3.1.0
+     */
+    public void clear() {
+        custom.clear();
+        insertionOrder.clear();
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+
+    /**
+     * Removes the oldest user supplied patterns while the capacity is exceeded.
+     */
+    private void evict() {
+        while (custom.size() > capacity) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (custom.remove(oldest) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,1135 @@
+/**
+Apache License
+Version 2.0, January 2004
+Copyright 2022 Carlos R. Puente (XarlsR)
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * <b>Reusable reading session over a single InputStream.</b><br>
+ * Unlike the static methods of {@link ConsoleInput}, that wrap the stream in a new
+ * reader on every call and discard whatever was read ahead, a session keeps one
+ * buffer and one decoder for the whole life of the stream, so consecutive calls
+ * continue exactly where the previous one stopped.<br>
+ * It's intended for batch jobs reading lots of values from a file or a pipe, but
+ * it works with {@code System.in} as well.<br>
+ * A session can also be opened over a file, in which case the file is memory mapped
+ * and read straight from the mapped pages: {@link #nextInt()}, {@link #nextLong()}
+ * and the bulk readers built on them parse the digits in place, without copying any
+ * byte. Files bigger than 2 GB are read through consecutive mapped windows. The lines of a
+ * file can also be read by several threads at once through a {@link LineSpliterator}.<br>
+ * Tokens and lines are split on the raw bytes, so the charset must encode ASCII as single bytes
+ * and never use those bytes inside other characters: US-ASCII, UTF-8 and the single byte
+ * ISO-8859 and windows-125x charsets are supported; UTF-16, or stateful charsets as ISO-2022-JP,
+ * are rejected.<br>
+ * Errors reading the stream or mapping the file are thrown by the read methods as an
+ * {@link UncheckedIOException}, instead of being taken for the end of the input.<br>
+ * A session is not thread safe. It must be closed after use, although closing
+ * a session opened on {@code System.in} leaves {@code System.in} open (see ISSUE I001).
+ * @see ConsoleInput
+ * @since 3.1.0
+ */
+public class InputSession implements Closeable {
+
+    /**
+     * Default size in bytes of the read buffer.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Default size in bytes of every mapped window of a file session.
+     */
+    static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    /**
+     * <b>Result of the last token read by {@link #nextInt()}, {@link #nextLong()} or {@link #nextDouble()}.</b>
+     * @since 3.1.0
+     */
+    public enum TokenStatus {
+        /** The token was read and parsed. */
+        OK,
+        /** There are no more tokens in the stream. */
+        EOF,
+        /** The token is not a number of the requested type. */
+        MALFORMED,
+        /** The token is a number out of the range of the requested type. */
+        OVERFLOW
+    }
+
+    /** Source of a stream session, null for file sessions. */
+    private final InputStream inputStream;
+    /** Source of a file session, null for stream sessions. */
+    private final FileChannel channel;
+    private final Charset charset;
+    private final CharsetDecoder decoder;
+    /** True for ISO-8859-1, whose bytes are the codes of their chars. */
+    private final boolean latin1;
+    /** Read buffer of a stream session, or the mapped window of a file session. */
+    private ByteBuffer buffer;
+
+    /** Size of the mapped windows of a file session. */
+    private final int windowSize;
+    /** Size of the file of a file session, or end of the section read by the session. */
+    private final long fileSize;
+    /** File offset of the next window to map. */
+    private long nextWindow;
+
+    /**
+     * Powers of ten exactly representable as a double, used by the {@link #nextDouble()} fast path.
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Value returned by {@link #appendDigit(long, int, boolean)} when the digit overflows.
+     * Accumulated values are never positive.
+     */
+    static final long DIGIT_OVERFLOW = 1;
+    /** Lowest value that can be multiplied by ten, the same for both signs: -922337203685477580. */
+    private static final long MULT_MIN = Long.MIN_VALUE / 10;
+
+    /** Next byte to be read from the buffer. */
+    private int position;
+    /** Number of valid bytes in the buffer. */
+    private int limit;
+    /** True when the last line ended with '\r', so a following '\n' must be skipped. */
+    private boolean skipLF;
+    private boolean eof;
+    private TokenStatus tokenStatus = TokenStatus.OK;
+    /** True when the last line read by readString(int) was cut. */
+    private boolean lastLineTruncated;
+    /** Max bytes of a character in the charset, computed on first use. */
+    private int maxBytesPerChar;
+
+    /** Bytes of the line being read, reused between calls. */
+    private byte[] lineBytes = new byte[256];
+    /** Decoded chars of the line being read, reused between calls. */
+    private CharBuffer lineChars = CharBuffer.allocate(256);
+
+
+    /**
+     * <b>Opens a session over an InputStream with the default buffer size.</b><br>
+     * Lines are decoded with the default charset of the platform.
+     * @param inputStream InputStream to read from. {@code System.in} may be used for keyboard input.
+     * @since 3.1.0
+     */
+    public InputSession(InputStream inputStream) {
+        this(inputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+
+    /**
+     * <b>Opens a session over an InputStream, decoding the lines with a given charset.</b><br>
+     * @param inputStream InputStream to read from. {@code System.in} may be used for keyboard input.
+     * @param charset Charset of the stream.
+     * @throws IllegalArgumentException if the charset is not supported by sessions.
+     * @since 3.1.0
+     */
+    public InputSession(InputStream inputStream, Charset charset) {
+        this(inputStream, DEFAULT_BUFFER_SIZE, charset);
+    }
+
+
+    /**
+     * <b>Opens a session over an InputStream with a custom buffer size.</b><br>
+     * Lines are decoded with the default charset of the platform.
+     * @param inputStream InputStream to read from. {@code System.in} may be used for keyboard input.
+     * @param bufferSize Size in bytes of the read buffer.
+     * @throws IllegalArgumentException if {@code bufferSize} is not positive.
+     * @since 3.1.0
+     */
+    public InputSession(InputStream inputStream, int bufferSize) {
+        this(inputStream, bufferSize, Charset.defaultCharset());
+    }
+
+
+    /**
+     * <b>Opens a session over an InputStream with a custom buffer size and charset.</b><br>
+     * @param inputStream InputStream to read from. {@code System.in} may be used for keyboard input.
+     * @param bufferSize Size in bytes of the read buffer.
+     * @param charset Charset of the stream.
+     * @throws IllegalArgumentException if {@code bufferSize} is not positive, or the charset is not
+     * supported by sessions.
+     * @since 3.1.0
+     */
+    public InputSession(InputStream inputStream, int bufferSize, Charset charset) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        checkCharset(charset);
+        this.inputStream = inputStream;
+        this.channel = null;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.windowSize = 0;
+        this.fileSize = 0;
+        this.charset = charset;
+        this.decoder = newDecoder(charset);
+        this.latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+
+    /**
+     * <b>Opens a session over a file, reading it through memory mapped windows.</b><br>
+     * Nothing is read when the session is opened; every window is mapped once the
+     * previous one has been consumed. Lines are decoded with the default charset of the platform.
+     * @param path File to read from.
+     * @throws IOException if the file can't be opened.
+     * @since 3.1.0
+     */
+    public InputSession(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE, Charset.defaultCharset());
+    }
+
+
+    /**
+     * <b>Opens a session over a file, decoding the lines with a given charset.</b><br>
+     * @param path File to read from.
+     * @param charset Charset of the file.
+     * @throws IOException if the file can't be opened.
+     * @throws IllegalArgumentException if the charset is not supported by sessions.
+     * @see #InputSession(Path)
+     * @since 3.1.0
+     */
+    public InputSession(Path path, Charset charset) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE, charset);
+    }
+
+
+    /**
+     * Opens a session over a file with a custom window size. Small windows are used by tests.
+     */
+    InputSession(Path path, int windowSize) throws IOException {
+        this(path, windowSize, Charset.defaultCharset());
+    }
+
+
+    private InputSession(Path path, int windowSize, Charset charset) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        checkCharset(charset);
+        this.inputStream = null;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(0);
+        this.windowSize = windowSize;
+        this.fileSize = channel.size();
+        this.charset = charset;
+        this.decoder = newDecoder(charset);
+        this.latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+
+    /**
+     * Opens a session over the section of a file from {@code from} to {@code to}, sharing the
+     * channel with other sessions. Used by {@link LineSpliterator}; the channel is closed by its
+     * owner, so these sessions are never closed.
+     * @throws IllegalArgumentException if the charset is not supported by sessions.
+     */
+    InputSession(FileChannel channel, long from, long to, int windowSize, Charset charset) {
+        checkCharset(charset);
+        this.inputStream = null;
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(0);
+        this.windowSize = windowSize;
+        this.fileSize = to;
+        this.nextWindow = from;
+        this.charset = charset;
+        this.decoder = newDecoder(charset);
+        this.latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+
+    /**
+     * <b>Opens a session over the content of a buffer.</b><br>
+     * The session reads the bytes between the position and the limit of the buffer, as a stream
+     * of that content would, but in place: a memory mapped file, or a section of it, can be read
+     * with no copy. The position of the buffer is not changed. Lines are decoded with the default
+     * charset of the platform.
+     * @param buffer Buffer with the content to read.
+     * @since 3.1.0
+     */
+    public InputSession(ByteBuffer buffer) {
+        this(buffer, Charset.defaultCharset());
+    }
+
+
+    /**
+     * <b>Opens a session over the content of a buffer, decoding the lines with a given charset.</b><br>
+     * @param buffer Buffer with the content to read.
+     * @param charset Charset of the content.
+     * @throws IllegalArgumentException if the charset is not supported by sessions.
+     * @see #InputSession(ByteBuffer)
+     * @since 3.1.0
+     */
+    public InputSession(ByteBuffer buffer, Charset charset) {
+        checkCharset(charset);
+        this.inputStream = null;
+        this.channel = null;
+        this.buffer = buffer.slice();
+        this.windowSize = 0;
+        this.fileSize = 0;
+        this.charset = charset;
+        this.decoder = newDecoder(charset);
+        this.latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+        this.limit = this.buffer.limit();
+        this.eof = true;
+    }
+
+
+    /**
+     * <b>Returns the charset the lines are decoded with.</b><br>
+     * @return Charset of the session.
+     * @since 3.1.0
+     */
+    public Charset charset() {
+        return charset;
+    }
+
+
+    /**
+     * <b>Reads and returns the next line of the stream.</b><br>
+     * A line ends with '\n', '\r' or "\r\n". The terminator is not included.
+     * @return Read String, or {@code null} when the end of the stream has been reached.
+     * @see ConsoleInput#readString(InputStream)
+     * @since 3.1.0
+     */
+    public String readString() {
+        int length = readLineBytes();
+        return length < 0 ? null : decodeLine(length);
+    }
+
+
+    /**
+     * <b>Reads the next line of the stream, keeping up to {@code maxLength} characters.</b><br>
+     * Only the bytes needed for {@code maxLength} characters are kept in memory: the rest of a
+     * longer line is skipped as it's read, so a huge line without terminators takes no more memory
+     * than a short one. Whether the line was cut is reported by {@link #lastLineTruncated()}.
+     * @param maxLength Max number of characters of the returned String.
+     * @return Read String, cut to {@code maxLength} characters, or {@code null} when the end of the
+     * stream has been reached.
+     * @throws IllegalArgumentException if {@code maxLength} is negative.
+     * @see ConsoleInput#readString(InputStream, int)
+     * @since 3.1.0
+     */
+    public String readString(int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Max length can't be negative: " + maxLength);
+        }
+        // No character takes more bytes than maxBytesPerChar, so these bytes hold maxLength characters.
+        int maxBytes = (int) Math.min(Integer.MAX_VALUE, (long) maxLength * maxBytesPerChar());
+        int length = readLineBytes(maxBytes);
+        if (length < 0) {
+            return null;
+        }
+        String line = decodeLine(length);
+        if (line.length() > maxLength) {
+            lastLineTruncated = true;
+            return line.substring(0, maxLength);
+        }
+        return line;
+    }
+
+
+    /**
+     * <b>Tells if the last line read was cut by {@link #readString(int)}.</b><br>
+     * Lines read by any other method are never cut.
+     * @return true if the last line was longer than the max length.
+     * @since 3.1.0
+     */
+    public boolean lastLineTruncated() {
+        return lastLineTruncated;
+    }
+
+
+    /**
+     * Reads the bytes of the next line, without its terminator, into the line buffer.
+     * @return Length of the line, or -1 when the end of the stream has been reached.
+     * @see #lineBytes()
+     */
+    int readLineBytes() {
+        return readLineBytes(Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * Reads the bytes of the next line into the line buffer, keeping up to {@code maxBytes} of them.
+     * The rest of the line is skipped, and {@link #lastLineTruncated} is set.
+     * @return Length kept of the line, or -1 when the end of the stream has been reached.
+     */
+    private int readLineBytes(int maxBytes) {
+        int length = 0;
+        boolean read = false;
+        lastLineTruncated = false;
+        while (position < limit || fill()) {
+            if (skipLF) {
+                skipLF = false;
+                if (buffer.get(position) == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            read = true;
+            int end = position;
+            byte b = 0;
+            while (end < limit && (b = buffer.get(end)) != '\n' && b != '\r') {
+                end++;
+            }
+            int kept = Math.min(end - position, maxBytes - length);
+            if (kept < end - position) {
+                lastLineTruncated = true;
+            }
+            length = appendLineBytes(position + kept, length);
+            if (end < limit) {
+                position = end + 1;
+                skipLF = b == '\r';
+                return length;
+            }
+            position = end;
+        }
+        return read ? length : -1;
+    }
+
+
+    /**
+     * Returns the max number of bytes of a character in the charset of the session.
+     */
+    private int maxBytesPerChar() {
+        if (maxBytesPerChar == 0) {
+            maxBytesPerChar = charset.canEncode() ? (int) Math.ceil(charset.newEncoder().maxBytesPerChar()) : 4;
+        }
+        return maxBytesPerChar;
+    }
+
+
+    /**
+     * Returns the line buffer, with the bytes of the last line read by {@link #readLineBytes()}.
+     * The buffer is reused, and replaced when a longer line is read.
+     */
+    byte[] lineBytes() {
+        return lineBytes;
+    }
+
+
+    /**
+     * <b>Returns a <code>int</code> value read from the next line.</b><br>
+     * @return Integer (<code>int</code>) read from the stream.
+     * @throws NumberFormatException If the read line is not parseable to <code>int</code> or the end of the stream was reached.
+     * @see ConsoleInput#readInteger(InputStream)
+     * @since 3.1.0
+     */
+    public int readInteger() throws NumberFormatException {
+        return Integer.parseInt(readString());
+    }
+
+
+    /**
+     * <b>Returns a <code>long</code> value read from the next line.</b><br>
+     * @return Long (<code>long</code>) read from the stream.
+     * @throws NumberFormatException If the read line is not parseable to <code>long</code> or the end of the stream was reached.
+     * @see ConsoleInput#readLong(InputStream)
+     * @since 3.1.0
+     */
+    public long readLong() throws NumberFormatException {
+        return Long.parseLong(readString());
+    }
+
+
+    /**
+     * <b>Returns the first character (char) of the next line.</b><br>
+     * @return char with the read character
+     * @see ConsoleInput#readChar(InputStream)
+     * @since 3.1.0
+     */
+    public char readChar() {
+        return readString().charAt(0);
+    }
+
+
+    /**
+     * <b>Returns a double precision (double) number read from the next line.</b><br>
+     * @return Double precision number.
+     * @throws NumberFormatException case the read line couldn't be parsed to {@code double}.
+     * @see ConsoleInput#readDouble(InputStream)
+     * @since 3.1.0
+     */
+    public double readDouble() throws NumberFormatException {
+        String string = readString();
+        if (string == null) {
+            throw new NumberFormatException("End of stream reached");
+        }
+        return Double.parseDouble(string);
+    }
+
+
+    /**
+     * <b>Parses the next whitespace separated token as a <code>int</code>.</b><br>
+     * The token is parsed straight from the read buffer, without building any
+     * intermediate String, and errors are not reported by exceptions: when the token
+     * can't be parsed 0 is returned and the cause is available from {@link #tokenStatus()}.
+     * A wrong token is consumed as a whole, so reading can go on with the next one.<br>
+     * Tokens may be separated by spaces, tabs or line terminators. After a token, a call
+     * to {@link #readString()} returns the rest of its line.
+     * @return The parsed value, or 0 if {@link #tokenStatus()} is not {@code OK}.
+     * @see TokenStatus
+     * @since 3.1.0
+     */
+    public int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            tokenStatus = TokenStatus.OVERFLOW;
+            return 0;
+        }
+        return (int) value;
+    }
+
+
+    /**
+     * <b>Parses the next whitespace separated token as a <code>long</code>.</b><br>
+     * Works as {@link #nextInt()}, for the whole <code>long</code> range.
+     * @return The parsed value, or 0 if {@link #tokenStatus()} is not {@code OK}.
+     * @see TokenStatus
+     * @since 3.1.0
+     */
+    public long nextLong() {
+        if (!skipWhitespace()) {
+            tokenStatus = TokenStatus.EOF;
+            return 0;
+        }
+        byte b = buffer.get(position);
+        boolean negative = b == '-';
+        if (negative || b == '+') {
+            position++;
+        }
+        long result = 0;
+        int digits = 0;
+        TokenStatus status = TokenStatus.OK;
+        while (position < limit || fill()) {
+            b = buffer.get(position);
+            if (isWhitespace(b)) {
+                break;
+            }
+            position++;
+            int digit = b - '0';
+            if (digit < 0 || digit > 9) {
+                status = TokenStatus.MALFORMED;
+            } else if (status == TokenStatus.OK) {
+                result = appendDigit(result, digit, negative);
+                if (result == DIGIT_OVERFLOW) {
+                    status = TokenStatus.OVERFLOW;
+                }
+            }
+            digits++;
+        }
+        if (digits == 0) {
+            status = TokenStatus.MALFORMED;
+        }
+        tokenStatus = status;
+        if (status != TokenStatus.OK) {
+            return 0;
+        }
+        return negative ? result : -result;
+    }
+
+
+    /**
+     * <b>Parses the next whitespace separated token as a <code>double</code>.</b><br>
+     * Works as {@link #nextInt()}. Every token {@link Double#parseDouble(String)} accepts is
+     * accepted, as {@link #readDouble()} does ({@code -12.5}, {@code 1.0658E12}, {@code NaN},
+     * {@code Infinity}, {@code 1.0f}). Decimal values with up to 15 significant digits and small
+     * exponents are computed straight from the digits; other tokens are handed over to
+     * {@link Double#parseDouble(String)}, so the result is always the correctly rounded one.
+     * @return The parsed value, or 0 if {@link #tokenStatus()} is not {@code OK}.
+     * @see TokenStatus
+     * @since 3.1.0
+     */
+    public double nextDouble() {
+        if (!skipWhitespace()) {
+            tokenStatus = TokenStatus.EOF;
+            return 0;
+        }
+        int length = 0;
+        while (position < limit || fill()) {
+            int end = position;
+            while (end < limit && !isWhitespace(buffer.get(end))) {
+                end++;
+            }
+            length = appendLineBytes(end, length);
+            position = end;
+            if (end < limit) {
+                break;
+            }
+        }
+        double value;
+        try {
+            value = parseDouble(lineBytes, 0, length);
+        } catch (NumberFormatException e) {
+            tokenStatus = TokenStatus.MALFORMED;
+            return 0;
+        }
+        tokenStatus = TokenStatus.OK;
+        return value;
+    }
+
+
+    /**
+     * <b>Returns the result of the last {@link #nextInt()}, {@link #nextLong()} or {@link #nextDouble()} call.</b><br>
+     * @return Status of the last read token.
+     * @since 3.1.0
+     */
+    public TokenStatus tokenStatus() {
+        return tokenStatus;
+    }
+
+
+    /**
+     * <b>Reads up to {@code count} whitespace separated <code>int</code> values.</b><br>
+     * The values are parsed by {@link #nextInt()} straight into the returned array.
+     * @param count Number of values to read.
+     * @return Array with the read values. It's shorter than {@code count} if the stream ends before.
+     * @throws NumberFormatException if a token is not a valid <code>int</code>.
+     * @since 3.1.0
+     */
+    public int[] readIntArray(int count) throws NumberFormatException {
+        int[] values = new int[count];
+        int size = 0;
+        while (size < count) {
+            int value = nextInt();
+            if (!checkToken(size)) {
+                break;
+            }
+            values[size++] = value;
+        }
+        return size == count ? values : Arrays.copyOf(values, size);
+    }
+
+
+    /**
+     * <b>Reads all the remaining whitespace separated <code>int</code> values of the stream.</b><br>
+     * @return Array with the read values.
+     * @throws NumberFormatException if a token is not a valid <code>int</code>.
+     * @since 3.1.0
+     */
+    public int[] readIntArray() throws NumberFormatException {
+        int[] values = new int[1024];
+        int size = 0;
+        while (true) {
+            int value = nextInt();
+            if (!checkToken(size)) {
+                return Arrays.copyOf(values, size);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+
+    /**
+     * <b>Reads up to {@code count} whitespace separated <code>long</code> values.</b><br>
+     * @param count Number of values to read.
+     * @return Array with the read values. It's shorter than {@code count} if the stream ends before.
+     * @throws NumberFormatException if a token is not a valid <code>long</code>.
+     * @see #readIntArray(int)
+     * @since 3.1.0
+     */
+    public long[] readLongArray(int count) throws NumberFormatException {
+        long[] values = new long[count];
+        int size = 0;
+        while (size < count) {
+            long value = nextLong();
+            if (!checkToken(size)) {
+                break;
+            }
+            values[size++] = value;
+        }
+        return size == count ? values : Arrays.copyOf(values, size);
+    }
+
+
+    /**
+     * <b>Reads all the remaining whitespace separated <code>long</code> values of the stream.</b><br>
+     * @return Array with the read values.
+     * @throws NumberFormatException if a token is not a valid <code>long</code>.
+     * @since 3.1.0
+     */
+    public long[] readLongArray() throws NumberFormatException {
+        long[] values = new long[1024];
+        int size = 0;
+        while (true) {
+            long value = nextLong();
+            if (!checkToken(size)) {
+                return Arrays.copyOf(values, size);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+
+    /**
+     * <b>Reads up to {@code count} whitespace separated <code>double</code> values.</b><br>
+     * @param count Number of values to read.
+     * @return Array with the read values. It's shorter than {@code count} if the stream ends before.
+     * @throws NumberFormatException if a token is not a valid <code>double</code>.
+     * @see #nextDouble()
+     * @since 3.1.0
+     */
+    public double[] readDoubleArray(int count) throws NumberFormatException {
+        double[] values = new double[count];
+        int size = 0;
+        while (size < count) {
+            double value = nextDouble();
+            if (!checkToken(size)) {
+                break;
+            }
+            values[size++] = value;
+        }
+        return size == count ? values : Arrays.copyOf(values, size);
+    }
+
+
+    /**
+     * <b>Reads all the remaining whitespace separated <code>double</code> values of the stream.</b><br>
+     * @return Array with the read values.
+     * @throws NumberFormatException if a token is not a valid <code>double</code>.
+     * @since 3.1.0
+     */
+    public double[] readDoubleArray() throws NumberFormatException {
+        double[] values = new double[1024];
+        int size = 0;
+        while (true) {
+            double value = nextDouble();
+            if (!checkToken(size)) {
+                return Arrays.copyOf(values, size);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+
+    /**
+     * <b>Returns a sequential IntStream over the remaining <code>int</code> tokens of the stream.</b><br>
+     * Values are parsed lazily by {@link #nextInt()} as the stream is consumed.
+     * A token that is not a valid <code>int</code> makes the stream throw a {@code NumberFormatException}.
+     * @return IntStream with the read values.
+     * @since 3.1.0
+     */
+    public IntStream ints() {
+        Spliterator.OfInt spliterator = new Spliterators.AbstractIntSpliterator(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int index;
+
+            @Override
+            public boolean tryAdvance(IntConsumer action) {
+                int value = nextInt();
+                if (!checkToken(index++)) {
+                    return false;
+                }
+                action.accept(value);
+                return true;
+            }
+        };
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+
+    /**
+     * <b>Returns a sequential LongStream over the remaining <code>long</code> tokens of the stream.</b><br>
+     * @return LongStream with the read values.
+     * @see #ints()
+     * @since 3.1.0
+     */
+    public LongStream longs() {
+        Spliterator.OfLong spliterator = new Spliterators.AbstractLongSpliterator(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int index;
+
+            @Override
+            public boolean tryAdvance(LongConsumer action) {
+                long value = nextLong();
+                if (!checkToken(index++)) {
+                    return false;
+                }
+                action.accept(value);
+                return true;
+            }
+        };
+        return StreamSupport.longStream(spliterator, false);
+    }
+
+
+    /**
+     * <b>Returns a sequential DoubleStream over the remaining <code>double</code> tokens of the stream.</b><br>
+     * @return DoubleStream with the read values.
+     * @see #ints()
+     * @since 3.1.0
+     */
+    public DoubleStream doubles() {
+        Spliterator.OfDouble spliterator = new Spliterators.AbstractDoubleSpliterator(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int index;
+
+            @Override
+            public boolean tryAdvance(DoubleConsumer action) {
+                double value = nextDouble();
+                if (!checkToken(index++)) {
+                    return false;
+                }
+                action.accept(value);
+                return true;
+            }
+        };
+        return StreamSupport.doubleStream(spliterator, false);
+    }
+
+
+    /**
+     * <b>Closes the session and its InputStream or file.</b><br>
+     * Closing a session over a buffer does nothing.
+     * {@code System.in} is never closed, as it can't be used anymore after closing (ISSUE I001).
+     * @throws IOException if the InputStream or file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        } else if (inputStream != null && inputStream != System.in) {
+            inputStream.close();
+        }
+    }
+
+
+    /**
+     * Refills the buffer from the stream, or maps the next window of the file.
+     * @return false when the end of the stream has been reached.
+     * @throws UncheckedIOException if the stream can't be read or the window can't be mapped.
+     */
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        try {
+            if (channel != null) {
+                return mapNextWindow();
+            }
+            int n;
+            do {
+                n = inputStream.read(buffer.array(), 0, buffer.capacity());
+            } while (n == 0);
+            if (n < 0) {
+                eof = true;
+                position = limit = 0;
+                return false;
+            }
+            position = 0;
+            limit = n;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Creates the decoder of the session, replacing malformed input as InputStreamReader does.
+     */
+    private static CharsetDecoder newDecoder(Charset charset) {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+
+    /**
+     * Checks if a charset can be read by a session: it encodes ASCII as single bytes with their own
+     * codes, and never uses those bytes inside other characters nor switches state with them, so
+     * the bytes can be split into tokens and lines before decoding. Only US-ASCII, UTF-8, and the
+     * single byte ISO-8859 and windows-125x charsets are known to do so.
+     */
+    static boolean isSupported(Charset charset) {
+        String name = charset.name();
+        return charset.equals(StandardCharsets.US_ASCII) || charset.equals(StandardCharsets.UTF_8)
+                || name.startsWith("ISO-8859-")
+                || (name.length() == 12 && name.startsWith("windows-125") && name.charAt(11) <= '8');
+    }
+
+
+    /**
+     * Rejects the charsets the session can't split into tokens and lines.
+     * @throws IllegalArgumentException if the charset is not supported.
+     */
+    static void checkCharset(Charset charset) {
+        if (!isSupported(charset)) {
+            throw new IllegalArgumentException("Charset not supported by input sessions: " + charset);
+        }
+    }
+
+
+    /**
+     * Checks the status of the last token read by the bulk methods.
+     * @param index Index of the token in the bulk read, for the error message.
+     * @return false at the end of the stream.
+     * @throws NumberFormatException if the token was not valid.
+     */
+    private boolean checkToken(int index) throws NumberFormatException {
+        switch (tokenStatus) {
+            case OK:
+                return true;
+            case EOF:
+                return false;
+            default:
+                throw new NumberFormatException("Token " + index + " is not valid: " + tokenStatus);
+        }
+    }
+
+
+    /**
+     * Appends a decimal digit to a <code>long</code> being parsed. The value is accumulated
+     * negatively, as Long.parseLong() does, so Long.MIN_VALUE can be read: the parsed number is
+     * the result for negative numbers and its negation for the rest.
+     * @param result Value accumulated so far, 0 at the first digit.
+     * @param digit Digit from 0 to 9.
+     * @param negative true if the number being parsed is negative.
+     * @return The new accumulated value, or {@link #DIGIT_OVERFLOW} if the number doesn't fit in a <code>long</code>.
+     */
+    static long appendDigit(long result, int digit, boolean negative) {
+        long limitValue = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        if (result < MULT_MIN || result * 10 < limitValue + digit) {
+            return DIGIT_OVERFLOW;
+        }
+        return result * 10 - digit;
+    }
+
+
+    /**
+     * Parses a double from {@code length} bytes of {@code bytes} starting at {@code offset}.
+     * The value is computed as mantissa * 10^exponent when both are exactly representable as doubles,
+     * which gives the correctly rounded result. Any other text, as {@code NaN}, {@code Infinity},
+     * hexadecimal values or the {@code d} and {@code f} suffixes, is parsed by Double.parseDouble().
+     * @return The parsed value.
+     * @throws NumberFormatException if the bytes are not a number Double.parseDouble() accepts.
+     */
+    static double parseDouble(byte[] bytes, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (length > 0 && (bytes[offset] == '-' || bytes[offset] == '+')) {
+            negative = bytes[offset] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significant = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean dot = false;
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                digits++;
+                if (significant < 18) {
+                    if (mantissa > 0 || b != '0') {
+                        mantissa = mantissa * 10 + (b - '0');
+                        significant++;
+                    }
+                    if (dot) {
+                        exponent--;
+                    }
+                } else {
+                    // Digits beyond the long range only shift the exponent, the fallback handles them.
+                    significant++;
+                    if (!dot) {
+                        exponent++;
+                    }
+                }
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return fallbackDouble(bytes, offset, length);
+        }
+        if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            int exponentDigits = 0;
+            int explicitExponent = 0;
+            for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10 + (bytes[i] - '0');
+                }
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return fallbackDouble(bytes, offset, length);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (i < end) {
+            return fallbackDouble(bytes, offset, length);
+        }
+        if (significant <= 15 && exponent >= -22 && exponent <= 22) {
+            double value = mantissa;
+            value = exponent < 0 ? value / EXACT_POWERS_OF_TEN[-exponent] : value * EXACT_POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        return fallbackDouble(bytes, offset, length);
+    }
+
+
+    /**
+     * Parses the bytes with Double.parseDouble(), for the values and the syntax the fast path of
+     * {@link #parseDouble(byte[], int, int)} doesn't handle.
+     * @throws NumberFormatException if the bytes are not a number Double.parseDouble() accepts.
+     */
+    private static double fallbackDouble(byte[] bytes, int offset, int length) {
+        return Double.parseDouble(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+
+    /**
+     * Moves the position to the first non whitespace byte.
+     * @return false when the end of the stream has been reached.
+     */
+    private boolean skipWhitespace() {
+        skipLF = false;
+        while (position < limit || fill()) {
+            if (!isWhitespace(buffer.get(position))) {
+                return true;
+            }
+            position++;
+        }
+        return false;
+    }
+
+
+    /**
+     * Spaces, tabs, line terminators and any other control character separate tokens.
+     */
+    private static boolean isWhitespace(byte b) {
+        return b <= ' ' && b >= 0;
+    }
+
+
+    /**
+     * Maps the window of the file that follows the current one.
+     * @return false when the whole file has been read.
+     */
+    private boolean mapNextWindow() throws IOException {
+        if (nextWindow >= fileSize) {
+            eof = true;
+            position = limit = 0;
+            return false;
+        }
+        int size = (int) Math.min(windowSize, fileSize - nextWindow);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, nextWindow, size);
+        nextWindow += size;
+        position = 0;
+        limit = size;
+        return true;
+    }
+
+
+    /**
+     * Copies the bytes between the current position and {@code end} to the line buffer.
+     * @return The new length of the line.
+     */
+    private int appendLineBytes(int end, int length) {
+        int count = end - position;
+        if (length + count > lineBytes.length) {
+            byte[] grown = new byte[Math.max(lineBytes.length * 2, length + count)];
+            System.arraycopy(lineBytes, 0, grown, 0, length);
+            lineBytes = grown;
+        }
+        buffer.position(position);
+        buffer.get(lineBytes, length, count);
+        return length + count;
+    }
+
+
+    /**
+     * Checks that all the bytes of a section are ASCII.
+     */
+    private static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Decodes the first {@code length} bytes of the line buffer with the session decoder.
+     */
+    private String decodeLine(int length) {
+        return decode(lineBytes, 0, length);
+    }
+
+
+    /**
+     * Decodes {@code length} bytes from {@code offset} with the charset of the session.
+     */
+    String decode(byte[] bytes, int offset, int length) {
+        // Latin-1 bytes are their own chars, and so are ASCII bytes in any supported charset:
+        // the String is built straight from the bytes, with no decoder.
+        if (latin1 || isAscii(bytes, offset, length)) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        int maxChars = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+        if (lineChars.capacity() < maxChars) {
+            lineChars = CharBuffer.allocate(Math.max(lineChars.capacity() * 2, maxChars));
+        }
+        lineChars.clear();
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(bytes, offset, length), lineChars, true);
+        decoder.flush(lineChars);
+        return new String(lineChars.array(), 0, lineChars.position());
+    }
+
+}
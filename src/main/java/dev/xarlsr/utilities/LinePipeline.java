@@ -0,0 +1,293 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+
+/**
+ * <b>Processes the lines of a stream with several threads, as it's read.</b><br>
+ * Streams that can't be split, as {@code System.in} or a pipe, can only be read by one thread.
+ * A pipeline reads the stream in the calling thread, through an {@link InputSession}, and hands
+ * batches of lines to a pool of workers through a bounded queue, so the per line work runs in
+ * parallel with the reading. When the workers fall behind the queue fills up and the reader waits
+ * for them, so the memory used is bounded by the queue capacity times the batch size.<br>
+ * Batches are processed in no particular order. The stream is not closed.<br>
+ * A pipeline can be run any number of times, but not by several threads at once.
+ * @see PipelineMetrics
+ * @since 3.1.0
+ */
+public final class LinePipeline {
+
+    /**
+     * Default number of lines of every batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * Marks the end of the input to the workers.
+     */
+    private static final List<String> END = new ArrayList<>(0);
+
+    private final int batchSize;
+    private final int workers;
+    private final int queueCapacity;
+    private volatile PipelineMetrics metrics;
+
+
+    /**
+     * <b>Creates a pipeline with the default batch size and one worker per core.</b><br>
+     * The queue holds two batches per worker.
+     * @since 3.1.0
+     */
+    public LinePipeline() {
+        this(DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * <b>Creates a pipeline whose queue holds two batches per worker.</b><br>
+     * @param batchSize Number of lines of every batch.
+     * @param workers Number of worker threads.
+     * @throws IllegalArgumentException if an argument is not positive.
+     * @since 3.1.0
+     */
+    public LinePipeline(int batchSize, int workers) {
+        this(batchSize, workers, 2 * workers);
+    }
+
+
+    /**
+     * <b>Creates a pipeline.</b><br>
+     * @param batchSize Number of lines of every batch.
+     * @param workers Number of worker threads.
+     * @param queueCapacity Max number of batches waiting for a worker.
+     * @throws IllegalArgumentException if an argument is not positive.
+     * @since 3.1.0
+     */
+    public LinePipeline(int batchSize, int workers, int queueCapacity) {
+        if (batchSize <= 0 || workers <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size, workers and queue capacity must be positive: "
+                    + batchSize + ", " + workers + ", " + queueCapacity);
+        }
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+    }
+
+
+    /**
+     * <b>Reads all the lines of a stream and runs an action on every line, in the workers.</b><br>
+     * Returns when every line has been processed. If the action throws an exception no more lines
+     * are read, the queued ones are discarded, and the exception is thrown by this method.
+     * Lines are decoded with the default charset.
+     * @param inputStream Stream to read, i.e. {@code System.in}.
+     * @param action Action run on every line. It's run by several threads at once.
+     * @return Metrics of the run.
+     * @throws InterruptedException if the calling thread is interrupted. The workers are stopped.
+     * @throws UncheckedIOException if the stream can't be read. The workers are stopped.
+     * @since 3.1.0
+     */
+    public PipelineMetrics run(InputStream inputStream, Consumer<? super String> action) throws InterruptedException {
+        return run(inputStream, Charset.defaultCharset(), action);
+    }
+
+
+    /**
+     * <b>Reads all the lines of a stream in a given charset and runs an action on every line, in the workers.</b><br>
+     * Charsets supported by {@link InputSession}, as UTF-8, are read by a session; any other, as
+     * UTF-16, by an InputStreamReader.
+     * @param inputStream Stream to read, i.e. {@code System.in}.
+     * @param charset Charset of the stream.
+     * @param action Action run on every line. It's run by several threads at once.
+     * @return Metrics of the run.
+     * @throws InterruptedException if the calling thread is interrupted. The workers are stopped.
+     * @throws UncheckedIOException if the stream can't be read. The workers are stopped.
+     * @see #run(InputStream, Consumer)
+     * @since 3.1.0
+     */
+    public PipelineMetrics run(InputStream inputStream, Charset charset, Consumer<? super String> action)
+            throws InterruptedException {
+        return runBatches(inputStream, charset, batch -> batch.forEach(action));
+    }
+
+
+    /**
+     * <b>Reads all the lines of a stream and runs an action on every batch of lines, in the workers.</b><br>
+     * Same as {@link #run(InputStream, Consumer)}, for actions that work better on many lines at once.
+     * @param inputStream Stream to read, i.e. {@code System.in}.
+     * @param action Action run on every batch. It's run by several threads at once.
+     * @return Metrics of the run.
+     * @throws InterruptedException if the calling thread is interrupted. The workers are stopped.
+     * @throws UncheckedIOException if the stream can't be read. The workers are stopped.
+     * @since 3.1.0
+     */
+    public PipelineMetrics runBatches(InputStream inputStream, Consumer<? super List<String>> action) throws InterruptedException {
+        return runBatches(inputStream, Charset.defaultCharset(), action);
+    }
+
+
+    /**
+     * <b>Reads all the lines of a stream in a given charset and runs an action on every batch of lines, in the workers.</b><br>
+     * Same as {@link #run(InputStream, Charset, Consumer)}, for actions that work better on many lines at once.
+     * @param inputStream Stream to read, i.e. {@code System.in}.
+     * @param charset Charset of the stream.
+     * @param action Action run on every batch. It's run by several threads at once.
+     * @return Metrics of the run.
+     * @throws InterruptedException if the calling thread is interrupted. The workers are stopped.
+     * @throws UncheckedIOException if the stream can't be read. The workers are stopped.
+     * @since 3.1.0
+     */
+    public PipelineMetrics runBatches(InputStream inputStream, Charset charset, Consumer<? super List<String>> action)
+            throws InterruptedException {
+        Supplier<String> lines = lines(inputStream, charset);
+        BlockingQueue<List<String>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        PipelineMetrics runMetrics = new PipelineMetrics(queue);
+        metrics = runMetrics;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            threads[i] = new Thread(() -> work(queue, action, runMetrics, failure), "line-pipeline-worker-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+        try {
+            read(lines, queue, runMetrics, failure);
+            for (int i = 0; i < workers; i++) {
+                queue.put(END);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            throw e;
+        } finally {
+            runMetrics.finish();
+        }
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return runMetrics;
+    }
+
+
+    /**
+     * <b>Returns the metrics of the current run, or of the last one.</b><br>
+     * @return Metrics of the run, or null if the pipeline was never run.
+     * @since 3.1.0
+     */
+    public PipelineMetrics metrics() {
+        return metrics;
+    }
+
+
+    /**
+     * Returns the reader of the lines of a stream: an {@link InputSession} if it supports the
+     * charset, or an InputStreamReader. Neither of them is closed, so the stream is left open.
+     * The reader returns null at the end of the stream.
+     */
+    private static Supplier<String> lines(InputStream inputStream, Charset charset) {
+        if (InputSession.isSupported(charset)) {
+            return new InputSession(inputStream, charset)::readString;
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, charset));
+        return () -> {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+
+    /**
+     * Reads the lines in batches and queues them, until the end of the stream or a failure of a worker.
+     */
+    private void read(Supplier<String> lines, BlockingQueue<List<String>> queue, PipelineMetrics runMetrics,
+                      AtomicReference<Throwable> failure) throws InterruptedException {
+        List<String> batch = new ArrayList<>(batchSize);
+        String line;
+        while (failure.get() == null && (line = lines.get()) != null) {
+            batch.add(line);
+            if (batch.size() == batchSize) {
+                queue(batch, queue, runMetrics);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty() && failure.get() == null) {
+            queue(batch, queue, runMetrics);
+        }
+    }
+
+
+    /**
+     * Puts a batch in the queue, waiting for room if it's full.
+     */
+    private static void queue(List<String> batch, BlockingQueue<List<String>> queue, PipelineMetrics runMetrics)
+            throws InterruptedException {
+        long blocked = 0;
+        if (!queue.offer(batch)) {
+            long start = System.nanoTime();
+            queue.put(batch);
+            blocked = System.nanoTime() - start;
+        }
+        runMetrics.batchQueued(batch.size(), blocked);
+    }
+
+
+    /**
+     * Loop of a worker: takes batches and runs the action on them until the end mark. After a
+     * failure the batches are still taken, so the reader is never blocked, but not processed.
+     */
+    private static void work(BlockingQueue<List<String>> queue, Consumer<? super List<String>> action,
+                             PipelineMetrics runMetrics, AtomicReference<Throwable> failure) {
+        try {
+            while (true) {
+                long start = System.nanoTime();
+                List<String> batch = queue.take();
+                runMetrics.workerIdle(System.nanoTime() - start);
+                if (batch == END) {
+                    return;
+                }
+                if (failure.get() == null) {
+                    try {
+                        action.accept(batch);
+                        runMetrics.batchProcessed(batch.size());
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // Stopped by the interrupted reader.
+        }
+    }
+
+}
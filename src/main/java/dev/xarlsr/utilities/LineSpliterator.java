@@ -0,0 +1,364 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * <b>Splittable source of the lines of a file or a buffer, for parallel streams.</b><br>
+ * The input is split in halves of bytes, moving every split point forward to the start of the
+ * next line, until the sections are smaller than the minimum split size. Every section is then
+ * read by its own {@link InputSession}, straight from memory mapped windows of the file, so a
+ * {@code parallel()} pipeline reads and parses the lines on all the cores, with no single reader
+ * thread in between. Files bigger than 2 GB are read through consecutive windows.<br>
+ * Lines end with '\n', '\r' or "\r\n", as in {@link InputSession#readString()}, and are decoded with
+ * the default charset or a given one. The charset must not use the bytes of '\n' and '\r' inside
+ * other characters, so only the charsets supported by {@link InputSession} are accepted: ASCII,
+ * ISO-8859, windows-125x and UTF-8, but not UTF-16.<br>
+ * A line spliterator is not thread safe, but the spliterators split from it can be used by
+ * different threads.
+ * @see InputSession
+ * @since 3.1.0
+ */
+public final class LineSpliterator implements Spliterator<String> {
+
+    /**
+     * Default minimum size in bytes of the sections of the input.
+     */
+    public static final int DEFAULT_MIN_SPLIT_SIZE = 1 << 20;
+
+    /**
+     * Size in bytes of the reads done to look for a line start.
+     */
+    private static final int SCAN_SIZE = 8 * 1024;
+
+    /** File with the lines, null for buffers. */
+    private final FileChannel channel;
+    /** Buffer with the lines, null for files. */
+    private final ByteBuffer source;
+    private final int minSplitSize;
+    private final int windowSize;
+    private final Charset charset;
+    /** Offset of the first line of the section, always the start of a line. */
+    private long start;
+    /** Offset of the end of the section, the start of a line or the end of the input. */
+    private final long end;
+    /** Session reading the section, created by the first line read. */
+    private InputSession session;
+
+
+    /**
+     * <b>Creates a spliterator of the lines of a file.</b><br>
+     * The channel is not closed by the spliterator. Lines are decoded with the default charset.
+     * @param channel Channel of the file, open for reading.
+     * @param minSplitSize Minimum size in bytes of the sections of the file.
+     * @throws IOException if the size of the file can't be read.
+     * @throws IllegalArgumentException if {@code minSplitSize} is not positive, or the default
+     * charset is not supported by input sessions.
+     * @since 3.1.0
+     */
+    public LineSpliterator(FileChannel channel, int minSplitSize) throws IOException {
+        this(channel, minSplitSize, Charset.defaultCharset());
+    }
+
+
+    /**
+     * <b>Creates a spliterator of the lines of a file, decoding them with a given charset.</b><br>
+     * @param channel Channel of the file, open for reading.
+     * @param minSplitSize Minimum size in bytes of the sections of the file.
+     * @param charset Charset of the file.
+     * @throws IOException if the size of the file can't be read.
+     * @throws IllegalArgumentException if {@code minSplitSize} is not positive, or the charset is
+     * not supported by input sessions.
+     * @see #LineSpliterator(FileChannel, int)
+     * @since 3.1.0
+     */
+    public LineSpliterator(FileChannel channel, int minSplitSize, Charset charset) throws IOException {
+        this(channel, null, 0, channel.size(), minSplitSize, InputSession.DEFAULT_WINDOW_SIZE, charset);
+    }
+
+
+    /**
+     * <b>Creates a spliterator of the lines of a buffer, as a memory mapped file.</b><br>
+     * The lines are the bytes between the position and the limit of the buffer.
+     * The position of the buffer is not changed. Lines are decoded with the default charset.
+     * @param buffer Buffer with the lines.
+     * @param minSplitSize Minimum size in bytes of the sections of the buffer.
+     * @throws IllegalArgumentException if {@code minSplitSize} is not positive, or the default
+     * charset is not supported by input sessions.
+     * @since 3.1.0
+     */
+    public LineSpliterator(ByteBuffer buffer, int minSplitSize) {
+        this(buffer, minSplitSize, Charset.defaultCharset());
+    }
+
+
+    /**
+     * <b>Creates a spliterator of the lines of a buffer, decoding them with a given charset.</b><br>
+     * @param buffer Buffer with the lines.
+     * @param minSplitSize Minimum size in bytes of the sections of the buffer.
+     * @param charset Charset of the lines.
+     * @throws IllegalArgumentException if {@code minSplitSize} is not positive, or the charset is
+     * not supported by input sessions.
+     * @see #LineSpliterator(ByteBuffer, int)
+     * @since 3.1.0
+     */
+    public LineSpliterator(ByteBuffer buffer, int minSplitSize, Charset charset) {
+        this(null, buffer.slice(), 0, buffer.remaining(), minSplitSize, 0, charset);
+    }
+
+
+    /**
+     * Creates a spliterator of a file with a custom window size. Small windows are used by tests.
+     */
+    LineSpliterator(FileChannel channel, int minSplitSize, int windowSize) throws IOException {
+        this(channel, null, 0, channel.size(), minSplitSize, windowSize, Charset.defaultCharset());
+    }
+
+
+    private LineSpliterator(FileChannel channel, ByteBuffer source, long start, long end, int minSplitSize,
+                            int windowSize, Charset charset) {
+        if (minSplitSize <= 0) {
+            throw new IllegalArgumentException("Minimum split size must be positive: " + minSplitSize);
+        }
+        InputSession.checkCharset(charset);
+        this.channel = channel;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.minSplitSize = minSplitSize;
+        this.windowSize = windowSize;
+        this.charset = charset;
+    }
+
+
+    /**
+     * <b>Returns a stream of the lines of a file.</b><br>
+     * The stream is sequential; call {@code parallel()} to read it with several threads.
+     * It must be closed to close the file. Lines are decoded with the default charset.
+     * @param path File to read.
+     * @return <code>Stream</code> with the lines of the file, in order.
+     * @throws IOException if the file can't be opened.
+     * @throws IllegalArgumentException if the default charset is not supported by input sessions.
+     * @since 3.1.0
+     */
+    public static Stream<String> lines(Path path) throws IOException {
+        return lines(path, DEFAULT_MIN_SPLIT_SIZE, Charset.defaultCharset());
+    }
+
+
+    /**
+     * <b>Returns a stream of the lines of a file, decoded with a given charset.</b><br>
+     * @param path File to read.
+     * @param charset Charset of the file.
+     * @return <code>Stream</code> with the lines of the file, in order.
+     * @throws IOException if the file can't be opened.
+     * @throws IllegalArgumentException if the charset is not supported by input sessions.
+     * @see #lines(Path)
+     * @since 3.1.0
+     */
+    public static Stream<String> lines(Path path, Charset charset) throws IOException {
+        return lines(path, DEFAULT_MIN_SPLIT_SIZE, charset);
+    }
+
+
+    /**
+     * <b>Returns a stream of the lines of a file, with a custom minimum split size.</b><br>
+     * @param path File to read.
+     * @param minSplitSize Minimum size in bytes of the sections of the file.
+     * @return <code>Stream</code> with the lines of the file, in order.
+     * @throws IOException if the file can't be opened.
+     * @throws IllegalArgumentException if {@code minSplitSize} is not positive, or the default
+     * charset is not supported by input sessions.
+     * @see #lines(Path)
+     * @since 3.1.0
+     */
+    public static Stream<String> lines(Path path, int minSplitSize) throws IOException {
+        return lines(path, minSplitSize, Charset.defaultCharset());
+    }
+
+
+    /**
+     * <b>Returns a stream of the lines of a file, with a custom minimum split size and charset.</b><br>
+     * @param path File to read.
+     * @param minSplitSize Minimum size in bytes of the sections of the file.
+     * @param charset Charset of the file.
+     * @return <code>Stream</code> with the lines of the file, in order.
+     * @throws IOException if the file can't be opened.
+     * @throws IllegalArgumentException if {@code minSplitSize} is not positive, or the charset is
+     * not supported by input sessions.
+     * @see #lines(Path)
+     * @since 3.1.0
+     */
+    public static Stream<String> lines(Path path, int minSplitSize, Charset charset) throws IOException {
+        InputSession.checkCharset(charset);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return StreamSupport.stream(new LineSpliterator(channel, minSplitSize, charset), false)
+                    .onClose(() -> {
+                        try {
+                            channel.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * <b>Returns a stream of the lines of a buffer, as a memory mapped file.</b><br>
+     * The stream is sequential; call {@code parallel()} to read it with several threads.
+     * Lines are decoded with the default charset.
+     * @param buffer Buffer with the lines, between its position and its limit.
+     * @return <code>Stream</code> with the lines of the buffer, in order.
+     * @throws IllegalArgumentException if the default charset is not supported by input sessions.
+     * @since 3.1.0
+     */
+    public static Stream<String> lines(ByteBuffer buffer) {
+        return lines(buffer, Charset.defaultCharset());
+    }
+
+
+    /**
+     * <b>Returns a stream of the lines of a buffer, decoded with a given charset.</b><br>
+     * @param buffer Buffer with the lines, between its position and its limit.
+     * @param charset Charset of the lines.
+     * @return <code>Stream</code> with the lines of the buffer, in order.
+     * @throws IllegalArgumentException if the charset is not supported by input sessions.
+     * @see #lines(ByteBuffer)
+     * @since 3.1.0
+     */
+    public static Stream<String> lines(ByteBuffer buffer, Charset charset) {
+        return StreamSupport.stream(new LineSpliterator(buffer, DEFAULT_MIN_SPLIT_SIZE, charset), false);
+    }
+
+
+    /**
+     * <b>Reads the next line of the section.</b><br>
+     * @param action Action receiving the line.
+     * @return false when the section has no more lines.
+     * @since 3.1.0
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        if (session == null) {
+            session = channel != null
+                    ? new InputSession(channel, start, end, windowSize, charset)
+                    : new InputSession(source.duplicate().limit((int) end).position((int) start), charset);
+        }
+        String line = session.readString();
+        if (line == null) {
+            return false;
+        }
+        action.accept(line);
+        return true;
+    }
+
+
+    /**
+     * <b>Splits off the first half of the section, ending at a line start.</b><br>
+     * Sections smaller than twice the minimum split size, or already being read, are not split.
+     * @return Spliterator of the first lines of the section, or null if it's not split.
+     * @since 3.1.0
+     */
+    @Override
+    public Spliterator<String> trySplit() {
+        if (session != null || end - start < 2L * minSplitSize) {
+            return null;
+        }
+        long split;
+        try {
+            split = nextLineStart(start + (end - start) / 2);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+        if (split >= end) {
+            return null;
+        }
+        LineSpliterator prefix = new LineSpliterator(channel, source, start, split, minSplitSize, windowSize, charset);
+        start = split;
+        return prefix;
+    }
+
+
+    /**
+     * <b>Returns the size in bytes of the section, an upper bound of its number of lines.</b><br>
+     * @return Bytes of the section.
+     * @since 3.1.0
+     */
+    @Override
+    public long estimateSize() {
+        return end - start;
+    }
+
+
+    /**
+     * <b>Returns the characteristics of the spliterator: ordered and non null.</b><br>
+     * @return {@code ORDERED | NONNULL}.
+     * @since 3.1.0
+     */
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+
+    /**
+     * Returns the offset of the start of the first line that begins after {@code from}, or the end of the section.
+     */
+    private long nextLineStart(long from) throws IOException {
+        if (source != null) {
+            for (int i = (int) from; i < end; i++) {
+                byte b = source.get(i);
+                if (b == '\n' || b == '\r') {
+                    return b == '\r' && i + 1 < end && source.get(i + 1) == '\n' ? i + 2 : i + 1;
+                }
+            }
+            return end;
+        }
+        // One byte more than scanned, to see the '\n' of a "\r\n" at the end of the scan.
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE + 1);
+        for (long position = from; position < end; position += SCAN_SIZE) {
+            scan.clear().limit((int) Math.min(SCAN_SIZE + 1, end - position));
+            int read = 0;
+            while (scan.hasRemaining()) {
+                int n = channel.read(scan, position + read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            for (int i = 0; i < Math.min(read, SCAN_SIZE); i++) {
+                byte b = scan.get(i);
+                if (b == '\n' || b == '\r') {
+                    return position + (b == '\r' && i + 1 < read && scan.get(i + 1) == '\n' ? i + 2 : i + 1);
+                }
+            }
+        }
+        return end;
+    }
+
+}
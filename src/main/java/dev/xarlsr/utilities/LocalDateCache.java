@@ -0,0 +1,154 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * <b>Thread safe cache of canonical <code>LocalDate</code> instances, keyed by epoch day.</b><br>
+ * Real data usually repeats a small set of dates many times. With a cache, every parse of the same
+ * date returns the same shared instance instead of a new one, so long running services keep fewer
+ * objects alive.<br>
+ * The cache is an array with a slot for every day of a window of years, filled as dates are
+ * requested. Dates outside the window are not cached: a new instance is returned every time,
+ * and counted by {@link #outsideWindow()} to help sizing the window.<br>
+ * The cache is opt-in: it's used by the {@link DateUtils} parsing methods once it's set by
+ * {@link DateUtils#setLocalDateCache(LocalDateCache)}.
+ * @since 3.1.0
+ */
+public final class LocalDateCache {
+
+    /**
+     * First year of the default window.
+     */
+    public static final int DEFAULT_FIRST_YEAR = 1900;
+
+    /**
+     * Last year of the default window.
+     */
+    public static final int DEFAULT_LAST_YEAR = 2099;
+
+    private final int firstYear;
+    private final int lastYear;
+    private final long firstDay;
+    /** Cached instances, indexed by epoch day minus {@link #firstDay}. Null until requested. */
+    private final LocalDate[] dates;
+    private final LongAdder outsideWindow = new LongAdder();
+
+
+    /**
+     * <b>Creates a cache for the dates of the years 1900 to 2099.</b><br>
+     * The array takes about 300 KB, plus 24 bytes for every cached date.
+     * @since 3.1.0
+     */
+    public LocalDateCache() {
+        this(DEFAULT_FIRST_YEAR, DEFAULT_LAST_YEAR);
+    }
+
+
+    /**
+     * <b>Creates a cache for the dates of a window of years.</b><br>
+     * The array has a slot for every day of the window.
+     * @param firstYear First year of the window.
+     * @param lastYear Last year of the window, included.
+     * @throws IllegalArgumentException if the window is empty, out of the <code>LocalDate</code> range,
+     * or longer than 10000 years.
+     * @since 3.1.0
+     */
+    public LocalDateCache(int firstYear, int lastYear) {
+        if (firstYear > lastYear || lastYear - firstYear >= 10_000
+                || firstYear < LocalDate.MIN.getYear() || lastYear > LocalDate.MAX.getYear()) {
+            throw new IllegalArgumentException("Wrong window of years: " + firstYear + " - " + lastYear);
+        }
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        long lastDay = LocalDate.of(lastYear, 12, 31).toEpochDay();
+        this.dates = new LocalDate[(int) (lastDay - firstDay + 1)];
+    }
+
+
+    /**
+     * <b>Returns the date of an epoch day, the same instance for every call within the window.</b><br>
+     * @param epochDay Epoch day of the date.
+     * @return Shared <code>LocalDate</code> of the epoch day, or a new one if it's outside the window.
+     * @throws java.time.DateTimeException if the epoch day is out of the <code>LocalDate</code> range.
+     * @see LocalDate#ofEpochDay(long)
+     * @since 3.1.0
+     */
+    public LocalDate get(long epochDay) {
+        long index = epochDay - firstDay;
+        if (index < 0 || index >= dates.length) {
+            outsideWindow.increment();
+            return LocalDate.ofEpochDay(epochDay);
+        }
+        LocalDate date = dates[(int) index];
+        if (date == null) {
+            // LocalDate is immutable, so a date created twice by racing threads is harmless.
+            date = LocalDate.ofEpochDay(epochDay);
+            dates[(int) index] = date;
+        }
+        return date;
+    }
+
+
+    /**
+     * <b>Returns the canonical instance of a date.</b><br>
+     * @param date Date to canonicalize.
+     * @return Shared instance equal to {@code date}, or {@code date} itself if it's outside the window.
+     * @since 3.1.0
+     */
+    public LocalDate canonical(LocalDate date) {
+        long index = date.toEpochDay() - firstDay;
+        if (index < 0 || index >= dates.length) {
+            outsideWindow.increment();
+            return date;
+        }
+        LocalDate cached = dates[(int) index];
+        if (cached == null) {
+            dates[(int) index] = date;
+            return date;
+        }
+        return cached;
+    }
+
+
+    /**
+     * <b>Returns the first year of the window.</b>
+     * @return First cached year.
+     * @since 3.1.0
+     */
+    public int firstYear() {
+        return firstYear;
+    }
+
+
+    /**
+     * <b>Returns the last year of the window.</b>
+     * @return Last cached year.
+     * @since 3.1.0
+     */
+    public int lastYear() {
+        return lastYear;
+    }
+
+
+    /**
+     * <b>Returns the number of requested dates outside the window.</b>
+     * @return Number of requests that returned a not cached instance.
+     * @since 3.1.0
+     */
+    public long outsideWindow() {
+        return outsideWindow.sum();
+    }
+
+}
@@ -0,0 +1,184 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * <b>Metrics of a run of a {@link LinePipeline}.</b><br>
+ * They are updated while the pipeline runs, so they can be read from another thread to monitor
+ * it, and are final once the run returns.<br>
+ * A reader blocked time growing faster than the worker idle time means the workers are the
+ * bottleneck; the opposite means the input is.
+ * @see LinePipeline#metrics()
+ * @since 3.1.0
+ */
+public final class PipelineMetrics {
+
+    private final Queue<?> queue;
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+    private final LongAdder linesRead = new LongAdder();
+    private final LongAdder batchesRead = new LongAdder();
+    private final LongAdder linesProcessed = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder readerBlockedNanos = new LongAdder();
+    private final LongAdder workerIdleNanos = new LongAdder();
+
+
+    /**
+     * Creates the metrics of a run starting now, over its queue of batches.
+     */
+    PipelineMetrics(Queue<?> queue) {
+        this.queue = queue;
+    }
+
+
+    /**
+     * <b>Returns the number of lines read from the input.</b>
+     * @return Lines read and queued.
+     * @since 3.1.0
+     */
+    public long linesRead() {
+        return linesRead.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of batches read from the input.</b>
+     * @return Batches read and queued.
+     * @since 3.1.0
+     */
+    public long batchesRead() {
+        return batchesRead.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of lines processed by the workers.</b>
+     * @return Lines of the batches completed by the workers.
+     * @since 3.1.0
+     */
+    public long linesProcessed() {
+        return linesProcessed.sum();
+    }
+
+
+    /**
+     * <b>Returns the number of batches waiting in the queue right now.</b>
+     * @return Current queue depth, 0 once the run has finished.
+     * @since 3.1.0
+     */
+    public int queueDepth() {
+        return endNanos == 0 ? queue.size() : 0;
+    }
+
+
+    /**
+     * <b>Returns the highest number of batches seen waiting in the queue.</b>
+     * @return Max queue depth, up to the queue capacity.
+     * @since 3.1.0
+     */
+    public long maxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+
+    /**
+     * <b>Returns the time the reader waited for room in a full queue.</b>
+     * @return Nanoseconds the reader was blocked by the workers.
+     * @since 3.1.0
+     */
+    public long readerBlockedNanos() {
+        return readerBlockedNanos.sum();
+    }
+
+
+    /**
+     * <b>Returns the time the workers waited for batches in an empty queue, added up.</b>
+     * @return Nanoseconds the workers were idle, waiting for the reader.
+     * @since 3.1.0
+     */
+    public long workerIdleNanos() {
+        return workerIdleNanos.sum();
+    }
+
+
+    /**
+     * <b>Returns the duration of the run, up to now if it's still running.</b>
+     * @return Nanoseconds since the run started.
+     * @since 3.1.0
+     */
+    public long elapsedNanos() {
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+
+    /**
+     * <b>Returns the throughput of the run.</b>
+     * @return Lines processed per second.
+     * @since 3.1.0
+     */
+    public double linesPerSecond() {
+        long elapsed = elapsedNanos();
+        return elapsed == 0 ? 0 : linesProcessed() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+
+    @Override
+    public String toString() {
+        return "PipelineMetrics[linesRead=" + linesRead() + ", batchesRead=" + batchesRead()
+                + ", linesProcessed=" + linesProcessed() + ", queueDepth=" + queueDepth()
+                + ", maxQueueDepth=" + maxQueueDepth() + ", readerBlockedMs=" + readerBlockedNanos() / 1_000_000
+                + ", workerIdleMs=" + workerIdleNanos() / 1_000_000 + ", elapsedMs=" + elapsedNanos() / 1_000_000
+                + ", linesPerSecond=" + Math.round(linesPerSecond()) + "]";
+    }
+
+
+    /**
+     * Counts a batch put in the queue, and the time the reader waited for it.
+     */
+    void batchQueued(int lines, long blockedNanos) {
+        linesRead.add(lines);
+        batchesRead.increment();
+        readerBlockedNanos.add(blockedNanos);
+        maxQueueDepth.accumulate(queue.size());
+    }
+
+
+    /**
+     * Counts the time a worker waited for a batch.
+     */
+    void workerIdle(long idleNanos) {
+        workerIdleNanos.add(idleNanos);
+    }
+
+
+    /**
+     * Counts a processed batch.
+     */
+    void batchProcessed(int lines) {
+        linesProcessed.add(lines);
+    }
+
+
+    /**
+     * Marks the end of the run.
+     */
+    void finish() {
+        endNanos = Math.max(System.nanoTime(), startNanos + 1);
+    }
+
+}
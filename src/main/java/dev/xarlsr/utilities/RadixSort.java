@@ -0,0 +1,64 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+
+/**
+ * <b>Steps of the radix sorts of epoch days.</b><br>
+ * Epoch days are sorted by digits of their bits, from the lowest to the highest, with the sign
+ * bit flipped so negative days go first. Every pass counts the digits of the days, turns the
+ * counts into offsets and moves every day to its offset. Passes whose digit is the same for every
+ * day are skipped. The days can be split in blocks, counted and moved by different threads.
+ * @see DateStore#sort()
+ * @see DateIndex
+ * @since 3.1.0
+ */
+final class RadixSort {
+
+    private RadixSort() {
+    }
+
+
+    /**
+     * Returns the digit of {@code bits} bits at {@code shift} of an epoch day, with the sign bit
+     * flipped so negative days go first.
+     */
+    static int digit(int epochDay, int shift, int bits) {
+        return ((epochDay ^ Integer.MIN_VALUE) >>> shift) & ((1 << bits) - 1);
+    }
+
+
+    /**
+     * Turns the counts of every digit of every block into the offsets where the block moves its
+     * days with that digit. Blocks keep their order for the same digit, so the sort is stable.
+     * @param counts Counts of every digit, one array per block, replaced by the offsets.
+     * @param size Total number of days.
+     * @return false if every day has the same digit, so the pass can be skipped. The counts are
+     * left half replaced then.
+     */
+    static boolean toOffsets(long[][] counts, long size) {
+        int radix = counts[0].length;
+        long offset = 0;
+        for (int digit = 0; digit < radix; digit++) {
+            long total = 0;
+            for (long[] blockCounts : counts) {
+                long count = blockCounts[digit];
+                blockCounts[digit] = offset + total;
+                total += count;
+            }
+            if (total == size) {
+                return false;
+            }
+            offset += total;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,272 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+
+/**
+ * <b>Seeded generator of random dates in bulk, reproducible and parallel.</b><br>
+ * Unlike {@link DateUtils#generateRandomDate(LocalDate, LocalDate)}, the dates only depend on
+ * the seed: every call to {@link #epochDays(int)}, {@link #fill(long[], int, int)},
+ * {@link #epochDayStream(long)} or {@link #dates(long)} with the same count returns the same
+ * dates, in the same order, whatever the number of threads used to generate them.<br>
+ * To get this, the output is split in chunks of fixed size and every chunk is generated by its
+ * own {@code SplittableRandom}, split in order from the one created with the seed. Chunks don't
+ * share any state, so they are generated in parallel without contention.<br>
+ * By default dates are uniformly distributed. {@link #weekdaysOnly()} and
+ * {@link #withMonthWeights(double...)} return generators with other distributions, sampled by
+ * rejection. Generators are immutable and can be shared by any number of threads.
+ * @see DateUtils#generateRandomDates(LocalDate, LocalDate, long, int)
+ * @since 3.1.0
+ */
+public final class RandomDateGenerator {
+
+    /**
+     * Number of dates generated by every split generator.
+     */
+    static final int CHUNK_SIZE = 1 << 14;
+
+    private final long start;
+    private final long end;
+    private final long seed;
+    private final boolean weekdaysOnly;
+    /** Relative weight of every month, index 0 is January. Null for the uniform distribution. */
+    private final double[] monthWeights;
+    private final double maxWeight;
+
+
+    /**
+     * <b>Creates a generator of uniformly distributed dates within a period.</b><br>
+     * @param startInclusive <code>LocalDate</code>. Begin of the period within the dates will be generated.
+     * @param endExclusive <code>LocalDate</code>. End of the period within the dates will be generated, excluded.
+     * @param seed Seed of the generator. The same seed always gives the same dates.
+     * @throws IllegalArgumentException if the period is empty.
+     * @since 3.1.0
+     */
+    public RandomDateGenerator(LocalDate startInclusive, LocalDate endExclusive, long seed) {
+        this(startInclusive.toEpochDay(), endExclusive.toEpochDay(), seed, false, null);
+    }
+
+
+    private RandomDateGenerator(long start, long end, long seed, boolean weekdaysOnly, double[] monthWeights) {
+        if (start >= end) {
+            throw new IllegalArgumentException("Empty period: " + LocalDate.ofEpochDay(start)
+                    + " - " + LocalDate.ofEpochDay(end));
+        }
+        this.start = start;
+        this.end = end;
+        this.seed = seed;
+        this.weekdaysOnly = weekdaysOnly;
+        this.monthWeights = monthWeights;
+        this.maxWeight = monthWeights == null ? 0 : Arrays.stream(monthWeights).max().orElse(0);
+        if (!hasAcceptableDay()) {
+            throw new IllegalArgumentException("No date of the period can be generated with the selected distribution");
+        }
+    }
+
+
+    /**
+     * <b>Returns a generator like this one that only generates dates from monday to friday.</b><br>
+     * Weekdays keep the distribution of this generator.
+     * @return New generator with the same period and seed.
+     * @throws IllegalArgumentException if the period has no weekday allowed by the distribution.
+     * @since 3.1.0
+     */
+    public RandomDateGenerator weekdaysOnly() {
+        return new RandomDateGenerator(start, end, seed, true, monthWeights);
+    }
+
+
+    /**
+     * <b>Returns a generator like this one whose dates are weighted by month.</b><br>
+     * Weights are relative and applied to every day: a date of a month with weight 2 is twice as
+     * likely as a date of a month with weight 1, and a month with weight 0 gets no date. As with
+     * the uniform distribution, longer months get more dates than shorter ones with the same weight.
+     * @param weights Twelve non negative weights, from January to December.
+     * @return New generator with the same period and seed.
+     * @throws IllegalArgumentException if there are not twelve weights, a weight is negative or not
+     * finite, or no date of the period has a positive weight.
+     * @since 3.1.0
+     */
+    public RandomDateGenerator withMonthWeights(double... weights) {
+        if (weights == null || weights.length != 12) {
+            throw new IllegalArgumentException("Twelve month weights are needed");
+        }
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Wrong month weight: " + weight);
+            }
+        }
+        return new RandomDateGenerator(start, end, seed, weekdaysOnly, weights.clone());
+    }
+
+
+    /**
+     * <b>Generates random dates as epoch days.</b><br>
+     * Big counts are generated in parallel.
+     * @param count Number of dates to generate.
+     * @return Array with the epoch days of the dates.
+     * @see LocalDate#ofEpochDay(long)
+     * @since 3.1.0
+     */
+    public long[] epochDays(int count) {
+        long[] days = new long[count];
+        fill(days, 0, count);
+        return days;
+    }
+
+
+    /**
+     * <b>Fills a section of an array with random dates as epoch days.</b><br>
+     * The section gets the same dates as {@code epochDays(length)}. Big sections are filled in parallel.
+     * @param destination Array to fill.
+     * @param offset Index of the first element to fill.
+     * @param length Number of elements to fill.
+     * @throws IndexOutOfBoundsException if the section is not within the array.
+     * @since 3.1.0
+     */
+    public void fill(long[] destination, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > destination.length - length) {
+            throw new IndexOutOfBoundsException("Section [" + offset + ", " + offset + " + " + length
+                    + ") out of an array of length " + destination.length);
+        }
+        SplittableRandom[] generators = chunkGenerators(length);
+        IntStream chunks = IntStream.range(0, generators.length);
+        if (length >= DateUtils.PARALLEL_THRESHOLD) {
+            chunks = chunks.parallel();
+        }
+        chunks.forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int to = (int) Math.min((long) from + CHUNK_SIZE, length);
+            SplittableRandom random = generators[chunk];
+            for (int i = from; i < to; i++) {
+                destination[offset + i] = next(random);
+            }
+        });
+    }
+
+
+    /**
+     * <b>Returns an ordered stream of random dates as epoch days.</b><br>
+     * The stream has the same dates as {@code epochDays(count)}, in the same order, whether it's
+     * run sequentially or in parallel. Dates are generated as they are consumed.
+     * @param count Number of dates of the stream.
+     * @return <code>LongStream</code> with the epoch days of the dates.
+     * @throws IllegalArgumentException if the count is negative.
+     * @since 3.1.0
+     */
+    public LongStream epochDayStream(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count: " + count);
+        }
+        SplittableRandom[] generators = chunkGenerators(count);
+        return IntStream.range(0, generators.length)
+                .mapToObj(chunk -> {
+                    long from = (long) chunk * CHUNK_SIZE;
+                    int size = (int) Math.min(CHUNK_SIZE, count - from);
+                    SplittableRandom random = generators[chunk];
+                    return LongStream.range(0, size).map(i -> next(random));
+                })
+                .flatMapToLong(days -> days);
+    }
+
+
+    /**
+     * <b>Returns an ordered stream of random dates.</b><br>
+     * Same as {@link #epochDayStream(long)}, mapped to <code>LocalDate</code>.
+     * @param count Number of dates of the stream.
+     * @return <code>Stream</code> with the dates.
+     * @throws IllegalArgumentException if the count is negative.
+     * @since 3.1.0
+     */
+    public Stream<LocalDate> dates(long count) {
+        return epochDayStream(count).mapToObj(LocalDate::ofEpochDay);
+    }
+
+
+    /**
+     * Returns the epoch day of the first day of the period.
+     */
+    long startEpochDay() {
+        return start;
+    }
+
+
+    /**
+     * Returns the epoch day of the day after the period.
+     */
+    long endEpochDay() {
+        return end;
+    }
+
+
+    /**
+     * Splits the generators of the chunks of {@code count} dates, in order, from the seed.
+     */
+    SplittableRandom[] chunkGenerators(long count) {
+        long chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many dates: " + count);
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[(int) chunks];
+        for (int i = 0; i < generators.length; i++) {
+            generators[i] = root.split();
+        }
+        return generators;
+    }
+
+
+    /**
+     * Draws the next date, rejecting the ones not allowed by the distribution.
+     */
+    long next(SplittableRandom random) {
+        while (true) {
+            long day = random.nextLong(start, end);
+            if (weekdaysOnly && dayOfWeek(day) >= 5) {
+                continue;
+            }
+            if (monthWeights != null && random.nextDouble() * maxWeight >= monthWeights[BuiltInFormat.month(day) - 1]) {
+                continue;
+            }
+            return day;
+        }
+    }
+
+
+    /**
+     * Checks that the distribution allows some date of the period, so {@link #next} always returns.
+     */
+    private boolean hasAcceptableDay() {
+        // A period longer than a year has every month and weekday.
+        long last = Math.min(end, start + 371);
+        for (long day = start; day < last; day++) {
+            if ((!weekdaysOnly || dayOfWeek(day) < 5) && (monthWeights == null || monthWeights[BuiltInFormat.month(day) - 1] > 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Returns the day of week of an epoch day, from 0 (monday) to 6 (sunday).
+     */
+    private static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+}
@@ -0,0 +1,260 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.util.Arrays;
+
+
+/**
+ * <b>Column buffers of the records read by a {@link RecordReader}.</b><br>
+ * Every field of the schema, but the skipped ones, is stored in a primitive array of its type:
+ * <code>int[]</code> for INT fields and for the epoch days of DATE fields, <code>long[]</code> for LONG,
+ * <code>double[]</code> for DOUBLE, and <code>String[]</code> for STRING fields. The buffers grow as
+ * records are added, and {@link #clear()} empties them keeping their memory, so the records of a
+ * big input can be read in blocks with the same buffers.<br>
+ * Column buffers are not thread safe.
+ * @see RecordSchema
+ * @since 3.1.0
+ */
+public final class RecordColumns {
+
+    /**
+     * Default number of records the buffers are created for.
+     */
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final RecordSchema schema;
+    /** Buffer of every field, null for skipped fields. */
+    private final Object[] columns;
+    private int capacity;
+    private int size;
+
+
+    /**
+     * <b>Creates empty column buffers for the records of a schema.</b>
+     * @param schema Schema of the records.
+     * @since 3.1.0
+     */
+    public RecordColumns(RecordSchema schema) {
+        this(schema, DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * <b>Creates empty column buffers for the records of a schema, with an initial capacity.</b>
+     * @param schema Schema of the records.
+     * @param capacity Number of records the buffers are created for.
+     * @throws IllegalArgumentException if the capacity is negative.
+     * @since 3.1.0
+     */
+    public RecordColumns(RecordSchema schema, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity can't be negative: " + capacity);
+        }
+        this.schema = schema;
+        this.capacity = capacity;
+        this.columns = new Object[schema.fieldCount()];
+        for (int i = 0; i < columns.length; i++) {
+            switch (schema.type(i)) {
+                case INT:
+                case DATE:
+                    columns[i] = new int[capacity];
+                    break;
+                case LONG:
+                    columns[i] = new long[capacity];
+                    break;
+                case DOUBLE:
+                    columns[i] = new double[capacity];
+                    break;
+                case STRING:
+                    columns[i] = new String[capacity];
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+
+    /**
+     * <b>Returns the schema of the records.</b>
+     * @return Schema of the columns.
+     * @since 3.1.0
+     */
+    public RecordSchema schema() {
+        return schema;
+    }
+
+
+    /**
+     * <b>Returns the number of records in the buffers.</b>
+     * @return Number of records.
+     * @since 3.1.0
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * <b>Removes all the records, keeping the memory of the buffers.</b>
+     * @since 3.1.0
+     */
+    public void clear() {
+        for (Object column : columns) {
+            if (column instanceof String[]) {
+                Arrays.fill((String[]) column, 0, size, null);
+            }
+        }
+        size = 0;
+    }
+
+
+    /**
+     * <b>Returns the values of an INT field.</b>
+     * @param name Name of the field.
+     * @return New array with the value of every record.
+     * @throws IllegalArgumentException if there's no INT field with that name.
+     * @since 3.1.0
+     */
+    public int[] ints(String name) {
+        return Arrays.copyOf((int[]) column(name, RecordSchema.ColumnType.INT), size);
+    }
+
+
+    /**
+     * <b>Returns the values of a LONG field.</b>
+     * @param name Name of the field.
+     * @return New array with the value of every record.
+     * @throws IllegalArgumentException if there's no LONG field with that name.
+     * @since 3.1.0
+     */
+    public long[] longs(String name) {
+        return Arrays.copyOf((long[]) column(name, RecordSchema.ColumnType.LONG), size);
+    }
+
+
+    /**
+     * <b>Returns the values of a DOUBLE field.</b>
+     * @param name Name of the field.
+     * @return New array with the value of every record.
+     * @throws IllegalArgumentException if there's no DOUBLE field with that name.
+     * @since 3.1.0
+     */
+    public double[] doubles(String name) {
+        return Arrays.copyOf((double[]) column(name, RecordSchema.ColumnType.DOUBLE), size);
+    }
+
+
+    /**
+     * <b>Returns the dates of a DATE field, as epoch days.</b>
+     * @param name Name of the field.
+     * @return New array with the epoch day of the date of every record.
+     * @throws IllegalArgumentException if there's no DATE field with that name.
+     * @see java.time.LocalDate#ofEpochDay(long)
+     * @since 3.1.0
+     */
+    public int[] epochDays(String name) {
+        return Arrays.copyOf((int[]) column(name, RecordSchema.ColumnType.DATE), size);
+    }
+
+
+    /**
+     * <b>Returns the dates of a DATE field, as a column of epoch days.</b>
+     * @param name Name of the field.
+     * @return New column with the date of every record.
+     * @throws IllegalArgumentException if there's no DATE field with that name.
+     * @since 3.1.0
+     */
+    public DateColumn dates(String name) {
+        return DateColumn.wrap(epochDays(name), size);
+    }
+
+
+    /**
+     * <b>Returns the values of a STRING field.</b>
+     * @param name Name of the field.
+     * @return New array with the value of every record.
+     * @throws IllegalArgumentException if there's no STRING field with that name.
+     * @since 3.1.0
+     */
+    public String[] strings(String name) {
+        return Arrays.copyOf((String[]) column(name, RecordSchema.ColumnType.STRING), size);
+    }
+
+
+    /**
+     * Returns the buffer of a field, with room for at least one more record.
+     */
+    Object column(int field) {
+        if (size == capacity) {
+            grow();
+        }
+        return columns[field];
+    }
+
+
+    /**
+     * Adds the record written at index {@link #size()} of the buffers.
+     */
+    void add() {
+        size++;
+    }
+
+
+    /**
+     * Drops the values of a rejected record written at the row {@code size}, so its Strings
+     * are not kept alive by the buffers.
+     */
+    void discard() {
+        if (size == capacity) {
+            return;
+        }
+        for (Object column : columns) {
+            if (column instanceof String[]) {
+                ((String[]) column)[size] = null;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the buffer of a field, checking its type.
+     */
+    private Object column(String name, RecordSchema.ColumnType type) {
+        int field = schema.indexOf(name);
+        if (field < 0 || schema.type(field) != type) {
+            throw new IllegalArgumentException("No " + type + " field named " + name);
+        }
+        return columns[field];
+    }
+
+
+    /**
+     * Doubles the capacity of all the buffers.
+     */
+    private void grow() {
+        int newCapacity = Math.max(16, capacity * 2);
+        for (int i = 0; i < columns.length; i++) {
+            Object column = columns[i];
+            if (column instanceof int[]) {
+                columns[i] = Arrays.copyOf((int[]) column, newCapacity);
+            } else if (column instanceof long[]) {
+                columns[i] = Arrays.copyOf((long[]) column, newCapacity);
+            } else if (column instanceof double[]) {
+                columns[i] = Arrays.copyOf((double[]) column, newCapacity);
+            } else if (column instanceof String[]) {
+                columns[i] = Arrays.copyOf((String[]) column, newCapacity);
+            }
+        }
+        capacity = newCapacity;
+    }
+
+}
@@ -0,0 +1,269 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+
+/**
+ * <b>Reads delimited records from an {@link InputSession} into column buffers.</b><br>
+ * Every line is a record, and its fields are parsed in place from the bytes of the line, as
+ * described by a {@link RecordSchema}, into the primitive buffers of a {@link RecordColumns}:
+ * no <code>String</code> is created but for STRING fields. Dates are parsed by the built-in
+ * format parsers and stored as epoch days.<br>
+ * Spaces and tabs around numbers and dates are ignored. Fields after the last one of the schema
+ * are ignored, and empty lines are skipped. A record with missing fields or a field that can't be
+ * parsed is rejected: it's not added to the columns, and it's counted by {@link #rejected()}.<br>
+ * A header line can be skipped by reading it from the session before reading the records.
+ * A reader is not thread safe.
+ * <pre>
+ * try (InputSession session = new InputSession(path)) {
+ *     RecordReader reader = new RecordReader(session, schema);
+ *     RecordColumns columns = new RecordColumns(schema);
+ *     while (reader.read(columns, 100_000) &gt; 0) {
+ *         int[] days = columns.epochDays("fecha");
+ *         ...
+ *         columns.clear();
+ *     }
+ * }
+ * </pre>
+ * @see RecordSchema
+ * @see RecordColumns
+ * @since 3.1.0
+ */
+public final class RecordReader {
+
+    private final InputSession session;
+    private final RecordSchema schema;
+    private final byte delimiter;
+    private long lineNumber;
+    private long rejected;
+    private long lastRejectedLine;
+    private int lastRejectedField = -1;
+    /** Set by the field parsers when the field is not valid. */
+    private boolean malformed;
+
+
+    /**
+     * <b>Creates a reader of the records of a session.</b>
+     * @param session Session to read the lines from. It's not closed by the reader.
+     * @param schema Schema of the records.
+     * @since 3.1.0
+     */
+    public RecordReader(InputSession session, RecordSchema schema) {
+        this.session = session;
+        this.schema = schema;
+        this.delimiter = (byte) schema.delimiter();
+    }
+
+
+    /**
+     * <b>Reads all the remaining records into column buffers.</b>
+     * @param columns Buffers the records are added to. They must have the schema of the reader.
+     * @return Number of records added.
+     * @throws IllegalArgumentException if the columns have another schema.
+     * @since 3.1.0
+     */
+    public int read(RecordColumns columns) {
+        return read(columns, Integer.MAX_VALUE);
+    }
+
+
+    /**
+     * <b>Reads up to {@code maxRecords} records into column buffers.</b><br>
+     * Rejected records are not counted, so when fewer records than requested are added the end
+     * of the stream has been reached.
+     * @param columns Buffers the records are added to. They must have the schema of the reader.
+     * @param maxRecords Max number of records to add.
+     * @return Number of records added, 0 at the end of the stream.
+     * @throws IllegalArgumentException if the columns have another schema.
+     * @since 3.1.0
+     */
+    public int read(RecordColumns columns, int maxRecords) {
+        if (columns.schema() != schema) {
+            throw new IllegalArgumentException("The columns have another schema");
+        }
+        int added = 0;
+        while (added < maxRecords) {
+            int length = session.readLineBytes();
+            if (length < 0) {
+                break;
+            }
+            lineNumber++;
+            if (length == 0) {
+                continue;
+            }
+            int field = parseRecord(session.lineBytes(), length, columns);
+            if (field < 0) {
+                columns.add();
+                added++;
+            } else {
+                columns.discard();
+                rejected++;
+                lastRejectedLine = lineNumber;
+                lastRejectedField = field;
+            }
+        }
+        return added;
+    }
+
+
+    /**
+     * <b>Returns the number of lines read, empty and rejected ones included.</b>
+     * @return Number of the last line read.
+     * @since 3.1.0
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+
+    /**
+     * <b>Returns the number of rejected records.</b>
+     * @return Number of records with missing or wrong fields.
+     * @since 3.1.0
+     */
+    public long rejected() {
+        return rejected;
+    }
+
+
+    /**
+     * <b>Returns the line number of the last rejected record.</b>
+     * @return Line number, counted from 1 by this reader, or 0 if no record has been rejected.
+     * @since 3.1.0
+     */
+    public long lastRejectedLine() {
+        return lastRejectedLine;
+    }
+
+
+    /**
+     * <b>Returns the index of the wrong or first missing field of the last rejected record.</b>
+     * @return Index of the field in the schema, or -1 if no record has been rejected.
+     * @since 3.1.0
+     */
+    public int lastRejectedField() {
+        return lastRejectedField;
+    }
+
+
+    /**
+     * Parses the fields of a line into the row {@code columns.size()} of the buffers.
+     * @return -1 if the record is valid, or the index of the first wrong field.
+     */
+    private int parseRecord(byte[] bytes, int length, RecordColumns columns) {
+        int row = columns.size();
+        int start = 0;
+        for (int field = 0; field < schema.fieldCount(); field++) {
+            if (start > length) {
+                return field;
+            }
+            int end = start;
+            while (end < length && bytes[end] != delimiter) {
+                end++;
+            }
+            RecordSchema.ColumnType type = schema.type(field);
+            if (type == RecordSchema.ColumnType.STRING) {
+                ((String[]) columns.column(field))[row] = session.decode(bytes, start, end - start);
+            } else if (type != RecordSchema.ColumnType.SKIP) {
+                int from = start;
+                int to = end;
+                while (from < to && (bytes[from] == ' ' || bytes[from] == '\t')) {
+                    from++;
+                }
+                while (to > from && (bytes[to - 1] == ' ' || bytes[to - 1] == '\t')) {
+                    to--;
+                }
+                if (!parseField(field, type, bytes, from, to, columns, row)) {
+                    return field;
+                }
+            }
+            start = end + 1;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Parses a trimmed field into its column.
+     * @return false if the field is not valid.
+     */
+    private boolean parseField(int field, RecordSchema.ColumnType type, byte[] bytes, int from, int to,
+                               RecordColumns columns, int row) {
+        switch (type) {
+            case INT: {
+                long value = parseLong(bytes, from, to);
+                if (malformed || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                    return false;
+                }
+                ((int[]) columns.column(field))[row] = (int) value;
+                return true;
+            }
+            case LONG: {
+                long value = parseLong(bytes, from, to);
+                if (malformed) {
+                    return false;
+                }
+                ((long[]) columns.column(field))[row] = value;
+                return true;
+            }
+            case DOUBLE: {
+                double value;
+                try {
+                    value = InputSession.parseDouble(bytes, from, to - from);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                ((double[]) columns.column(field))[row] = value;
+                return true;
+            }
+            case DATE: {
+                long epochDay = schema.format(field).parse(bytes, from, to - from, false);
+                if (epochDay == BuiltInFormat.INVALID) {
+                    return false;
+                }
+                ((int[]) columns.column(field))[row] = (int) epochDay;
+                return true;
+            }
+            default:
+                return true;
+        }
+    }
+
+
+    /**
+     * Parses a <code>long</code> from the bytes between {@code from} and {@code to}, as Long.parseLong() does.
+     * Sets {@link #malformed} when they are not a <code>long</code> number.
+     */
+    private long parseLong(byte[] bytes, int from, int to) {
+        malformed = true;
+        if (from == to) {
+            return 0;
+        }
+        boolean negative = bytes[from] == '-';
+        int i = negative || bytes[from] == '+' ? from + 1 : from;
+        if (i == to) {
+            return 0;
+        }
+        long result = 0;
+        for (; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return 0;
+            }
+            result = InputSession.appendDigit(result, digit, negative);
+            if (result == InputSession.DIGIT_OVERFLOW) {
+                return 0;
+            }
+        }
+        malformed = false;
+        return negative ? result : -result;
+    }
+
+}
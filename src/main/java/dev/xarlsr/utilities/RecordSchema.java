@@ -0,0 +1,241 @@
+/**
+ * Apache License
+ * Version 2.0, January 2004
+ * Copyright [2022] [Carlos R. Puente (XarlsR)]
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package dev.xarlsr.utilities;
+
+import java.util.Arrays;
+
+
+/**
+ * <b>Layout of the delimited records read by a {@link RecordReader}.</b><br>
+ * A schema has the delimiter of the fields and the name and type of every field, in order.
+ * Schemas are immutable: every {@code with} method returns a new schema with one more field.
+ * <pre>
+ * RecordSchema schema = new RecordSchema(';')
+ *         .withInt("id")
+ *         .withDate("fecha", DateUtils.ESP)
+ *         .withDouble("importe");
+ * </pre>
+ * @see RecordReader
+ * @see RecordColumns
+ * @since 3.1.0
+ */
+public final class RecordSchema {
+
+    /**
+     * <b>Types of the fields of a record, and of the columns they are stored in.</b>
+     * @since 3.1.0
+     */
+    public enum ColumnType {
+        /** <code>int</code> number, stored in an <code>int[]</code> column. */
+        INT,
+        /** <code>long</code> number, stored in a <code>long[]</code> column. */
+        LONG,
+        /** Decimal number, stored in a <code>double[]</code> column. */
+        DOUBLE,
+        /** Date in a built-in format, stored as epoch days in an <code>int[]</code> column. */
+        DATE,
+        /** Text, stored in a <code>String[]</code> column. */
+        STRING,
+        /** Field that is not read nor stored. */
+        SKIP
+    }
+
+    private final char delimiter;
+    private final String[] names;
+    private final ColumnType[] types;
+    /** Format of every DATE field, null for other types. */
+    private final BuiltInFormat[] formats;
+
+
+    /**
+     * <b>Creates a schema without fields.</b><br>
+     * @param delimiter Character separating the fields. It must be an ASCII character and not a line terminator.
+     * @throws IllegalArgumentException if the delimiter is not valid.
+     * @since 3.1.0
+     */
+    public RecordSchema(char delimiter) {
+        this(delimiter, new String[0], new ColumnType[0], new BuiltInFormat[0]);
+        if (delimiter > 127 || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must be ASCII and not a line terminator: " + (int) delimiter);
+        }
+    }
+
+
+    private RecordSchema(char delimiter, String[] names, ColumnType[] types, BuiltInFormat[] formats) {
+        this.delimiter = delimiter;
+        this.names = names;
+        this.types = types;
+        this.formats = formats;
+    }
+
+
+    /**
+     * <b>Returns a schema with one more <code>int</code> field.</b>
+     * @param name Name of the field.
+     * @return New schema.
+     * @throws IllegalArgumentException if the name is null or already used.
+     * @since 3.1.0
+     */
+    public RecordSchema withInt(String name) {
+        return with(name, ColumnType.INT, null);
+    }
+
+
+    /**
+     * <b>Returns a schema with one more <code>long</code> field.</b>
+     * @param name Name of the field.
+     * @return New schema.
+     * @throws IllegalArgumentException if the name is null or already used.
+     * @since 3.1.0
+     */
+    public RecordSchema withLong(String name) {
+        return with(name, ColumnType.LONG, null);
+    }
+
+
+    /**
+     * <b>Returns a schema with one more <code>double</code> field.</b>
+     * @param name Name of the field.
+     * @return New schema.
+     * @throws IllegalArgumentException if the name is null or already used.
+     * @since 3.1.0
+     */
+    public RecordSchema withDouble(String name) {
+        return with(name, ColumnType.DOUBLE, null);
+    }
+
+
+    /**
+     * <b>Returns a schema with one more date field.</b><br>
+     * Dates are parsed as {@link DateUtils#toEpochDay(byte[], int, int, String)} does: days beyond
+     * the end of their month are adjusted to the last day of the month.
+     * @param name Name of the field.
+     * @param format Built-in format of the dates: {@code USA}, {@code ESP}, {@code ESPS}, {@code BNK},
+     *               {@code BNKS} or "yyyyMMdd".
+     * @return New schema.
+     * @throws IllegalArgumentException if the name is null or already used, or the format is not built-in.
+     * @since 3.1.0
+     */
+    public RecordSchema withDate(String name, String format) {
+        BuiltInFormat builtIn = BuiltInFormat.of(format);
+        if (builtIn == null) {
+            throw new IllegalArgumentException("Not a built-in date format: " + format);
+        }
+        return with(name, ColumnType.DATE, builtIn);
+    }
+
+
+    /**
+     * <b>Returns a schema with one more text field.</b><br>
+     * Text fields are decoded to a <code>String</code>, so they are the only fields that allocate memory.
+     * @param name Name of the field.
+     * @return New schema.
+     * @throws IllegalArgumentException if the name is null or already used.
+     * @since 3.1.0
+     */
+    public RecordSchema withString(String name) {
+        return with(name, ColumnType.STRING, null);
+    }
+
+
+    /**
+     * <b>Returns a schema with one more field that is not read.</b>
+     * @return New schema.
+     * @since 3.1.0
+     */
+    public RecordSchema withSkipped() {
+        return with(null, ColumnType.SKIP, null);
+    }
+
+
+    /**
+     * <b>Returns the delimiter of the fields.</b>
+     * @return Delimiter character.
+     * @since 3.1.0
+     */
+    public char delimiter() {
+        return delimiter;
+    }
+
+
+    /**
+     * <b>Returns the number of fields of the records, skipped ones included.</b>
+     * @return Number of fields.
+     * @since 3.1.0
+     */
+    public int fieldCount() {
+        return types.length;
+    }
+
+
+    /**
+     * <b>Returns the name of a field.</b>
+     * @param field Index of the field.
+     * @return Name of the field, null for skipped fields.
+     * @since 3.1.0
+     */
+    public String name(int field) {
+        return names[field];
+    }
+
+
+    /**
+     * <b>Returns the type of a field.</b>
+     * @param field Index of the field.
+     * @return Type of the field.
+     * @since 3.1.0
+     */
+    public ColumnType type(int field) {
+        return types[field];
+    }
+
+
+    /**
+     * <b>Returns the index of a field.</b>
+     * @param name Name of the field.
+     * @return Index of the field, or -1 if the schema has no field with that name.
+     * @since 3.1.0
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null && names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Returns the format of a date field.
+     */
+    BuiltInFormat format(int field) {
+        return formats[field];
+    }
+
+
+    /**
+     * Returns a copy of this schema with a new field at the end.
+     */
+    private RecordSchema with(String name, ColumnType type, BuiltInFormat format) {
+        if (type != ColumnType.SKIP && (name == null || indexOf(name) >= 0)) {
+            throw new IllegalArgumentException("Field name null or already used: " + name);
+        }
+        int count = types.length;
+        String[] newNames = Arrays.copyOf(names, count + 1);
+        ColumnType[] newTypes = Arrays.copyOf(types, count + 1);
+        BuiltInFormat[] newFormats = Arrays.copyOf(formats, count + 1);
+        newNames[count] = name;
+        newTypes[count] = type;
+        newFormats[count] = format;
+        return new RecordSchema(delimiter, newNames, newTypes, newFormats);
+    }
+
+}
@@ -0,0 +1,202 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuiltInFormatTest {
+
+    /**
+     * <b>Checks the fast parsers against <code>DateTimeFormatter</code>.</b><br>
+     * Random digit strings, with many out of range days and months, are parsed by both
+     * with the <code>SMART</code> and the <code>STRICT</code> resolvers. Every date accepted by the
+     * fast parser must be the one returned by <code>DateTimeFormatter</code>, and every text
+     * rejected by <code>DateTimeFormatter</code> must be rejected by the fast parser.
+     * @param format Built-in format to test.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @EnumSource(BuiltInFormat.class)
+    void parseMatchesDateTimeFormatterTest(BuiltInFormat format) {
+        DateTimeFormatter smart = DateTimeFormatter.ofPattern(format.pattern());
+        DateTimeFormatter strict = format == BuiltInFormat.BASIC_ISO
+                ? DateTimeFormatter.BASIC_ISO_DATE
+                : DateTimeFormatter.ofPattern(format.pattern().replace('y', 'u')).withResolverStyle(ResolverStyle.STRICT);
+        SplittableRandom random = new SplittableRandom(format.ordinal());
+        for (int i = 0; i < 20000; i++) {
+            String text = randomDate(format, random);
+            check(text, format.parse(text, 0, text.length(), false), smart);
+            check(text, format.parse(text, 0, text.length(), true), strict);
+        }
+    }
+
+
+    /**
+     * Tests texts that are not dates of the format.
+     * @param text Text to parse.
+     * @param pattern Built-in pattern.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2015-06-1, yyyy-MM-dd",
+            "2015/06/10, yyyy-MM-dd",
+            "10/06/201a, dd/MM/yyyy",
+            "1006201, ddMMyyyy",
+            "100620155, ddMMyyyy",
+            "00000101, yyyyMMdd",
+            "-1012015, ddMMyyyy"
+    })
+    void parseInvalidTest(String text, String pattern) {
+        assertEquals(BuiltInFormat.INVALID, BuiltInFormat.of(pattern).parse(text, 0, text.length(), false));
+    }
+
+
+    /**
+     * Tests the month of epoch days far before and after the years of the built-in formats.
+     * @since 3.1.0
+     */
+    @Test
+    void monthTest() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            long epochDay = random.nextLong(-100_000_000L, 100_000_000L);
+            assertEquals(LocalDate.ofEpochDay(epochDay).getMonthValue(), BuiltInFormat.month(epochDay), "Day " + epochDay);
+        }
+        assertEquals(2, BuiltInFormat.month(LocalDate.of(-4, 2, 29).toEpochDay()));
+    }
+
+
+    /**
+     * Tests the lookup of built-in formats by pattern.
+     * @since 3.1.0
+     */
+    @Test
+    void ofTest() {
+        assertSame(BuiltInFormat.ESP, BuiltInFormat.of(DateUtils.ESP));
+        assertSame(BuiltInFormat.BASIC_ISO, BuiltInFormat.of("yyyyMMdd"));
+        assertNull(BuiltInFormat.of(DateUtils.ESPL));
+        assertNull(BuiltInFormat.of("dd.MM.yyyy"));
+    }
+
+
+    /**
+     * Builds a random text in the layout of a format, with days from 00 to 39 and months from 00 to 14.
+     */
+    static String randomDate(BuiltInFormat format, SplittableRandom random) {
+        String year = String.format(format.pattern().contains("yyyy") ? "%04d" : "%02d",
+                format.pattern().contains("yyyy") ? random.nextInt(1, 3000) : random.nextInt(100));
+        String month = String.format("%02d", random.nextInt(15));
+        String day = String.format("%02d", random.nextInt(40));
+        return format.pattern()
+                .replaceFirst("y+", year)
+                .replace("MM", month)
+                .replace("dd", day);
+    }
+
+
+    private static void check(String text, long epochDay, DateTimeFormatter formatter) {
+        try {
+            LocalDate expected = LocalDate.parse(text, formatter);
+            if (epochDay != BuiltInFormat.INVALID) {
+                assertEquals(expected, LocalDate.ofEpochDay(epochDay), text);
+            }
+        } catch (DateTimeParseException e) {
+            assertEquals(BuiltInFormat.INVALID, epochDay, text);
+        }
+    }
+
+    /**
+     * <b>Tests the zero-copy parsers over byte arrays, buffers and char sequences.</b><br>
+     * Every date is read from the middle of a bigger record, and must give the same
+     * result as DateUtils.stringToDate() with the same format.
+     * @param format Built-in format to test.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @EnumSource(BuiltInFormat.class)
+    void sliceParsersTest(BuiltInFormat format) {
+        SplittableRandom random = new SplittableRandom(31 + format.ordinal());
+        for (int i = 0; i < 2000; i++) {
+            String date = randomDate(format, random);
+            String record = "id;" + date + ";importe";
+            byte[] bytes = record.getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+            long expected = format.parse(date, 0, date.length(), false);
+            assertEquals(expected, format.toEpochDay(new StringBuilder(record), 3, date.length()), date);
+            assertEquals(expected, DateUtils.toEpochDay(bytes, 3, date.length(), format.pattern()), date);
+            assertEquals(expected, DateUtils.toEpochDay(direct, 3, date.length(), format.pattern()), date);
+            if (expected != DateUtils.INVALID_EPOCH_DAY) {
+                assertEquals(DateUtils.stringToDate(date, format.pattern()), DateUtils.parseDate(bytes, 3, date.length(), format.pattern()));
+            } else {
+                assertThrows(DateTimeParseException.class, () -> DateUtils.parseDate(direct, 3, date.length(), format.pattern()));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> DateUtils.toEpochDay("31.01.2010", 0, 10, "dd.MM.yyyy"));
+    }
+
+
+    /**
+     * <b>Tests the byte formatter against <code>DateTimeFormatter</code>.</b><br>
+     * The edges of the supported years and of the leap years are tested.
+     * @param format Built-in format to test.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @EnumSource(BuiltInFormat.class)
+    void formatTest(BuiltInFormat format) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format.pattern());
+        LocalDate[] dates = {LocalDate.of(1, 1, 1), LocalDate.of(1899, 12, 31), LocalDate.of(1900, 3, 1),
+                LocalDate.of(2000, 2, 29), LocalDate.of(2024, 12, 31), LocalDate.of(9999, 12, 31)};
+        byte[] bytes = new byte[format.length() + 2];
+        for (LocalDate date : dates) {
+            format.format(date.toEpochDay(), bytes, 1);
+            assertEquals(date.format(formatter), new String(bytes, 1, format.length(), StandardCharsets.US_ASCII));
+        }
+    }
+
+
+    /**
+     * <b>Tests the char array, buffer and <code>Appendable</code> formatters against <code>DateTimeFormatter</code>.</b><br>
+     * Dates out of the years 0001 to 9999 are formatted by the <code>DateTimeFormatter</code>.
+     * @param format Built-in format to test.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @EnumSource(BuiltInFormat.class)
+    void formatDestinationsTest(BuiltInFormat format) throws IOException {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format.pattern());
+        LocalDate[] dates = {LocalDate.of(1, 1, 1), LocalDate.of(1999, 12, 31), LocalDate.of(2000, 2, 29),
+                LocalDate.of(9999, 12, 31), LocalDate.of(12345, 6, 7)};
+        for (LocalDate date : dates) {
+            String expected = date.format(formatter);
+            char[] chars = new char[20];
+            assertEquals(expected.length(), format.format(date.toEpochDay(), chars, 3));
+            assertEquals(expected, new String(chars, 3, expected.length()));
+            ByteBuffer buffer = ByteBuffer.allocate(20);
+            assertEquals(expected.length(), DateUtils.dateToString(date, format.pattern(), buffer, 2));
+            assertEquals(0, buffer.position());
+            assertEquals(expected, new String(buffer.array(), 2, expected.length(), StandardCharsets.US_ASCII));
+            StringBuilder builder = new StringBuilder("x");
+            assertEquals(expected.length(), DateUtils.dateToString(date, format.pattern(), builder));
+            assertEquals("x" + expected, builder.toString());
+        }
+        char[] small = new char[format.length() + 1];
+        assertThrows(IndexOutOfBoundsException.class, () -> format.format(0, small, 2));
+        assertEquals(0, small[0]);
+        assertThrows(IllegalArgumentException.class,
+                () -> DateUtils.dateToString(LocalDate.of(2022, 6, 1), "dd.MM.yyyy", small, 0));
+    }
+}
@@ -2,11 +2,14 @@ package dev.xarlsr.utilities;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -161,4 +164,47 @@ class ConsoleInputTest {
         InputStream input = new ByteArrayInputStream(testString.getBytes(StandardCharsets.UTF_8));
         assertThrows(NumberFormatException.class, ()->ConsoleInput.readDouble(input));
     }
-}
\ No newline at end of file
+
+
+    /**
+     * <b>Tests readString(InputStream, Charset) with non ASCII text.</b><br>
+     * The result must not depend on the default charset.
+     * @param testString String to test
+     * @param charsetName Charset used to encode and decode the String.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "Año de la peña, UTF-8",
+            "Año de la peña, ISO-8859-1",
+            "Plain ASCII 20220720, UTF-8",
+            "Plain ASCII 20220720, US-ASCII",
+            "Precio: 25 €, UTF-8",
+            "Precio: 25 €, UTF-16",
+            "Año de la peña, UTF-16LE",
+            "日本語のテキスト, ISO-2022-JP"
+    })
+    void readStringCharsetTest(String testString, String charsetName) {
+        Charset charset = Charset.forName(charsetName);
+        InputStream input = new ByteArrayInputStream((testString + "\nsobra").getBytes(charset));
+        assertEquals(testString, ConsoleInput.readString(input, charset));
+    }
+
+
+    /**
+     * <b>Tests the readers with a default charset not supported by input sessions.</b><br>
+     * Lines are decoded by an InputStreamReader and numbers are read as ISO-8859-1.
+     * @since 3.1.0
+     */
+    @Test
+    void unsupportedDefaultCharsetTest() throws IOException {
+        Charset shiftJis = Charset.forName("Shift_JIS");
+        InputStream input = new ByteArrayInputStream("日本語のテキスト\nsobra".getBytes(shiftJis));
+        assertEquals("日本語のテ", ConsoleInput.readString(input, 5, shiftJis));
+        InputStream numbers = new ByteArrayInputStream("12 -3\n45".getBytes(shiftJis));
+        try (InputSession session = ConsoleInput.numberSession(numbers, shiftJis)) {
+            assertEquals(StandardCharsets.ISO_8859_1, session.charset());
+            assertArrayEquals(new int[]{12, -3, 45}, session.readIntArray());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateColumnTest {
+
+    /**
+     * <b>Tests adding, reading and replacing dates.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void addTest() {
+        DateColumn column = new DateColumn(1);
+        column.add(LocalDate.of(2022, 6, 1));
+        column.add(0);
+        column.add(LocalDate.of(1850, 12, 31));
+        assertEquals(3, column.size());
+        assertEquals(LocalDate.of(2022, 6, 1), column.getDate(0));
+        assertEquals(LocalDate.of(1970, 1, 1), column.getDate(1));
+        column.set(1, 1);
+        assertEquals(1, column.get(1));
+        column.sort();
+        assertEquals("1850-12-31,1970-01-02,2022-06-01",
+                column.dates().map(LocalDate::toString).collect(Collectors.joining(",")));
+        assertArrayEquals(column.toArray(), column.epochDays().toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> column.get(3));
+        assertThrows(ArithmeticException.class, () -> column.add(LocalDate.MAX));
+        assertEquals(3, column.size());
+        column.clear();
+        assertEquals(0, column.size());
+        assertThrows(IllegalArgumentException.class, () -> new DateColumn(-1));
+    }
+
+
+    /**
+     * <b>Tests the conversion of texts to a column and back, in every built-in format.</b><br>
+     * Over the parallel threshold, so blocks are converted in parallel.
+     * @param format Built-in format.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"yyyyMMdd", DateUtils.USA, DateUtils.ESP, DateUtils.ESPS, DateUtils.BNK, DateUtils.BNKS})
+    void stringsTest(String format) {
+        int count = DateUtils.PARALLEL_THRESHOLD + 10;
+        long[] days = new RandomDateGenerator(LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1), 7L)
+                .epochDays(count);
+        String[] texts = new String[count];
+        for (int i = 0; i < count; i++) {
+            texts[i] = DateUtils.dateToString(LocalDate.ofEpochDay(days[i]), format);
+        }
+        texts[5] = "not a date";
+        texts[count - 1] = null;
+        DateColumn column = new DateColumn();
+        column.add(-1);
+        BitSet added = column.addAll(texts, format);
+        assertEquals(count - 2, added.cardinality());
+        assertFalse(added.get(5));
+        assertEquals(count - 1, column.size());
+        assertEquals(-1, column.get(0));
+        assertEquals(days[4], column.get(5));
+        assertEquals(days[6], column.get(6));
+        String[] formatted = column.toStrings(format);
+        assertEquals(texts[6], formatted[6]);
+        assertEquals(DateUtils.dateToString(LocalDate.ofEpochDay(-1), format), formatted[0]);
+        assertThrows(IllegalArgumentException.class, () -> column.toStrings("dd.MM.yyyy"));
+    }
+
+
+    /**
+     * <b>Tests the dates out of the years 0001 to 9999, formatted by <code>DateTimeFormatter</code>.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void outOfRangeTest() {
+        DateColumn column = new DateColumn();
+        column.add(LocalDate.of(12345, 6, 7));
+        column.add(LocalDate.of(0, 1, 1));
+        // yyyy is the year of era: year 0 is 1 BC.
+        assertArrayEquals(new String[]{"+12345-06-07", "0001-01-01"}, column.toStrings(DateUtils.USA));
+    }
+}
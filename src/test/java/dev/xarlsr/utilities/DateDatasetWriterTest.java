@@ -0,0 +1,66 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateDatasetWriterTest {
+
+    /**
+     * Returns the expected dataset: the generator's dates formatted by DateUtils.dateToString().
+     */
+    static String expected(RandomDateGenerator generator, String format, int count) {
+        return Arrays.stream(generator.epochDays(count))
+                .mapToObj(day -> DateUtils.dateToString(LocalDate.ofEpochDay(day), format) + "\n")
+                .collect(Collectors.joining());
+    }
+
+
+    /**
+     * <b>Tests the written lines against dateToString() for built-in and custom formats.</b><br>
+     * The count is over the parallel threshold and not a multiple of the chunk size.
+     * @param format Output format.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "yyyyMMdd", "yyyy-MM-dd", "dd/MM/yyyy", "dd/MM/yy", "ddMMyyyy", "ddMMyy", "dd.MM.yyyy", "EEE d/M/uuuu"
+    })
+    void writeOutputStreamTest(String format) throws Exception {
+        RandomDateGenerator generator = new RandomDateGenerator(LocalDate.of(1850, 1, 1), LocalDate.of(2150, 1, 1), 7L);
+        int count = DateUtils.PARALLEL_THRESHOLD + 1234;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long written = new DateDatasetWriter(generator, format).write(output, count);
+        assertEquals(expected(generator, format, count), output.toString(StandardCharsets.UTF_8));
+        assertEquals(output.size(), written);
+    }
+
+
+    /**
+     * Tests writing to a file and the years out of the built-in formats range.
+     * @param dir Temporary directory for the test file.
+     * @since 3.1.0
+     */
+    @Test
+    void writeFileTest(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("dates.txt");
+        RandomDateGenerator generator = new RandomDateGenerator(LocalDate.of(9990, 1, 1), LocalDate.of(10010, 1, 1), 3L);
+        DateDatasetWriter writer = new DateDatasetWriter(generator, DateUtils.ESP);
+        Files.writeString(file, "contenido previo mucho mas largo que el nuevo");
+        writer.write(file, 1000);
+        assertEquals(expected(generator, DateUtils.ESP, 1000), Files.readString(file));
+        writer.write(file, 0);
+        assertEquals(0, Files.size(file));
+    }
+}
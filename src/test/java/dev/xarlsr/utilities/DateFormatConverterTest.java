@@ -0,0 +1,110 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateFormatConverterTest {
+
+    /**
+     * <b>Tests conversions between built-in and custom formats.</b><br>
+     * Wrong dates are fixed by the parsing, as dateFormatChanger() always did.
+     * @param inputDate <code>String</code> with the date to convert
+     * @param inputFormat {@code String} with the format of the input date.
+     * @param outputFormat {@code String} with the output format to convert to
+     * @param expectedResult {@code String} with the expected result
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "20100131, yyyyMMdd, dd/MM/yyyy, 31/01/2010",
+            "31/01/2010, dd/MM/yyyy, yyyy-MM-dd, 2010-01-31",
+            "29/02/16, dd/MM/yy, ddMMyyyy, 29022016",
+            "29022016, ddMMyyyy, ddMMyy, 290216",
+            "20100229, yyyyMMdd, dd/MM/yyyy, 01/03/2010",
+            "31/06/2015, dd/MM/yyyy, dd.MM.yyyy, 01.07.2015",
+            "05/03/2020, dd/MM/yyyy, d 'de' MMMM 'de' yyyy, 5 de marzo de 2020",
+            "01/08/80, dd/MM/yy, yyyy-MM-dd, 1980-08-01",
+            "01/01/60, dd/MM/yy, dd/MM/yyyy, 01/01/1960",
+            "1.8.80, d.M.yy, yyyy-MM-dd, 1980-08-01",
+            "2015-6-1, yyyy-MM-dd, dd/MM/yyyy, 01/06/2015",
+            "15 MARZO 2020, dd MMMM yyyy, yyyyMMdd, 20200315"
+    })
+    void convertTest(String inputDate, String inputFormat, String outputFormat, String expectedResult) throws ParseException {
+        DateFormatConverter converter = new DateFormatConverter(inputFormat, outputFormat);
+        assertEquals(expectedResult, converter.convert(inputDate));
+        assertEquals(expectedResult, DateUtils.dateFormatChanger(inputDate, inputFormat, outputFormat));
+    }
+
+
+    /**
+     * Tests that a date not matching the input format throws a ParseException, and the default formats.
+     * @since 3.1.0
+     */
+    @Test
+    void convertExceptionTest() throws ParseException {
+        DateFormatConverter converter = new DateFormatConverter(DateUtils.ESP, DateUtils.USA);
+        assertThrows(ParseException.class, () -> converter.convert("2017-12-05"));
+        assertThrows(ParseException.class, () -> converter.convert("05.12.2017"));
+        DateFormatConverter defaults = new DateFormatConverter(null, "");
+        assertEquals("yyyyMMdd", defaults.inputFormat());
+        assertEquals("20171205", defaults.convert("20171205"));
+    }
+
+
+    /**
+     * <b>Checks the digit remapping fast path against SimpleDateFormat, used until 3.1.0.</b><br>
+     * Every built-in format is converted to every other one, from several threads sharing the converters.
+     * @since 3.1.0
+     */
+    @Test
+    void remapMatchesSimpleDateFormatTest() {
+        for (BuiltInFormat input : BuiltInFormat.values()) {
+            for (BuiltInFormat output : BuiltInFormat.values()) {
+                DateFormatConverter converter = new DateFormatConverter(input.pattern(), output.pattern());
+                DateTimeFormatter in = DateTimeFormatter.ofPattern(input.pattern());
+                IntStream.range(0, 8).parallel().forEach(seed -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    SimpleDateFormat parser = new SimpleDateFormat(input.pattern(), DateUtils.LOCALE_ES);
+                    SimpleDateFormat formatter = new SimpleDateFormat(output.pattern(), DateUtils.LOCALE_ES);
+                    for (int i = 0; i < 500; i++) {
+                        LocalDate date = LocalDate.ofEpochDay(random.nextInt(0, 40000));
+                        String text = date.format(in);
+                        try {
+                            assertEquals(formatter.format(parser.parse(text)), converter.convert(text), text);
+                        } catch (ParseException e) {
+                            fail(e);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+
+    /**
+     * <b>Checks two digit years of custom patterns against SimpleDateFormat, used until 3.1.0.</b><br>
+     * The dates around the start of the century of the two digit years are read as it did.
+     * @since 3.1.0
+     */
+    @Test
+    void twoDigitYearMatchesSimpleDateFormatTest() throws ParseException {
+        DateFormatConverter converter = new DateFormatConverter("d/M/yy", "yyyy-MM-dd");
+        SimpleDateFormat parser = new SimpleDateFormat("d/M/yy", DateUtils.LOCALE_ES);
+        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd", DateUtils.LOCALE_ES);
+        LocalDate centuryStart = LocalDate.now().minusYears(80);
+        for (LocalDate date = centuryStart.minusDays(40); date.isBefore(centuryStart.plusDays(40)); date = date.plusDays(1)) {
+            String text = date.getDayOfMonth() + "/" + date.getMonthValue() + "/" + date.getYear() % 100;
+            assertEquals(formatter.format(parser.parse(text)), converter.convert(text), text);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateFormatDetectorTest {
+
+    /**
+     * <b>Tests the detection of every built-in format.</b><br>
+     * @param first First date of the sample.
+     * @param second Second date of the sample.
+     * @param expected Pattern of the expected format.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2022-06-01, 1999-12-31, yyyy-MM-dd",
+            "01/06/2022, 31/12/1999, dd/MM/yyyy",
+            "01/06/22, 31/12/99, dd/MM/yy",
+            "01062022, 31121999, ddMMyyyy",
+            "20220601, 19991231, yyyyMMdd",
+            "010622, 311299, ddMMyy"})
+    void detectTest(String first, String second, String expected) {
+        DateFormatDetector detector = DateFormatDetector.of(first, " " + second + "\t", "", null);
+        assertEquals(2, detector.sampleSize());
+        assertFalse(detector.isAmbiguous());
+        BuiltInFormat parser = detector.parser();
+        assertEquals(expected, parser.pattern());
+        assertEquals(DateUtils.stringToDate(first, expected), LocalDate.ofEpochDay(parser.toEpochDay(first, 0, first.length())));
+    }
+
+
+    /**
+     * <b>Tests ambiguous samples, the preference for plausible years and wrong samples.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void ambiguityTest() {
+        DateFormatDetector detector = DateFormatDetector.of("10101010");
+        assertTrue(detector.isAmbiguous());
+        assertEquals(List.of(BuiltInFormat.BASIC_ISO, BuiltInFormat.BNK), detector.candidates());
+        assertNull(detector.format());
+        assertThrows(IllegalStateException.class, detector::parser);
+        // Year 1010 as yyyyMMdd, 2010 as ddMMyyyy.
+        assertEquals(BuiltInFormat.BNK, DateFormatDetector.of("10102010").parser());
+        // A date that is only valid in one of the formats settles it.
+        assertEquals(BuiltInFormat.BNK, detector.add("31011999").format());
+        assertEquals(List.of(), DateFormatDetector.of("2022-06-01", "01/06/2022").candidates());
+        assertThrows(IllegalStateException.class, () -> DateFormatDetector.of().parser());
+        assertEquals(BuiltInFormat.ESP, DateFormatDetector.of(List.of("31/06/2015")).format());
+    }
+
+
+    /**
+     * <b>Tests that the detector parses padded dates as it reads the sample, and the format doesn't.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void paddedInputTest() {
+        String line = " \t01/06/2022\t ";
+        DateFormatDetector detector = DateFormatDetector.of(line, "31/12/1999 ");
+        long expected = LocalDate.of(2022, 6, 1).toEpochDay();
+        assertEquals(expected, detector.toEpochDay(line));
+        assertEquals(expected, detector.toEpochDay("01/06/2022"));
+        assertEquals(DateUtils.INVALID_EPOCH_DAY, detector.parser().toEpochDay(line, 0, line.length()));
+        assertEquals(DateUtils.INVALID_EPOCH_DAY, detector.toEpochDay(" 2022-06-01 "));
+        assertEquals(DateUtils.INVALID_EPOCH_DAY, detector.toEpochDay("  "));
+        assertEquals(DateUtils.INVALID_EPOCH_DAY, detector.toEpochDay(null));
+        assertThrows(IllegalStateException.class, () -> DateFormatDetector.of("10101010").toEpochDay("10101010"));
+    }
+}
@@ -0,0 +1,66 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateIndexTest {
+
+    /**
+     * <b>Tests the index against a scan of the dates.</b><br>
+     * Over the parallel threshold, with negative epoch days and repeated dates.
+     * @since 3.1.0
+     */
+    @Test
+    void rangeTest() {
+        int count = DateUtils.PARALLEL_THRESHOLD * 2 + 7;
+        int[] days = Arrays.stream(new RandomDateGenerator(LocalDate.of(1940, 1, 1), LocalDate.of(2040, 1, 1), 5L)
+                .epochDays(count)).mapToInt(day -> (int) day).toArray();
+        DateIndex index = DateIndex.build(days);
+        assertEquals(count, index.size());
+        Integer[] expected = IntStream.range(0, count).boxed().toArray(Integer[]::new);
+        Arrays.sort(expected, Comparator.comparingInt(id -> days[id]));
+        for (int rank = 0; rank < count; rank += 997) {
+            assertEquals((int) expected[rank], index.recordId(rank));
+            assertEquals(days[expected[rank]], index.epochDay(rank));
+        }
+        LocalDate from = LocalDate.of(1969, 12, 1);
+        LocalDate to = LocalDate.of(1970, 1, 31);
+        int[] inRange = IntStream.range(0, count)
+                .filter(id -> days[id] >= from.toEpochDay() && days[id] <= to.toEpochDay())
+                .toArray();
+        assertEquals(inRange.length, index.count(from, to));
+        assertArrayEquals(inRange, index.recordIds(from, to).sorted().toArray());
+        assertEquals(0, index.count(to, from));
+        assertEquals(0, index.recordIds(to, from).count());
+        assertEquals(count, index.count(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+
+    /**
+     * <b>Tests the floor and ceiling queries and the order of the ids of repeated dates.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void floorCeilingTest() {
+        DateColumn column = new DateColumn();
+        column.add(LocalDate.of(2022, 6, 1));
+        column.add(LocalDate.of(2020, 2, 29));
+        column.add(LocalDate.of(2022, 6, 1));
+        column.add(LocalDate.of(1960, 1, 1));
+        DateIndex index = DateIndex.build(column);
+        assertArrayEquals(new int[]{3, 1, 0, 2}, IntStream.range(0, 4).map(index::recordId).toArray());
+        assertEquals(LocalDate.of(2020, 2, 29), index.floor(LocalDate.of(2022, 5, 31)));
+        assertEquals(LocalDate.of(2022, 6, 1), index.floor(LocalDate.of(2022, 6, 1)));
+        assertEquals(LocalDate.of(2022, 6, 1), index.ceiling(LocalDate.of(2020, 3, 1)));
+        assertNull(index.floor(LocalDate.of(1959, 12, 31)));
+        assertNull(index.ceiling(LocalDate.of(2022, 6, 2)));
+        assertEquals(DateUtils.INVALID_EPOCH_DAY, index.ceiling(Long.MAX_VALUE));
+        assertEquals(0, DateIndex.build(new int[0]).count(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+}
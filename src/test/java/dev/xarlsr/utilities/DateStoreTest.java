@@ -0,0 +1,99 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateStoreTest {
+
+    /**
+     * <b>Tests adding, reading and sorting dates over several small segments.</b><br>
+     * Dates span more than 65536 days and include negative epoch days, so both radix passes run.
+     * @since 3.1.0
+     */
+    @Test
+    void directTest() throws IOException {
+        int[] days = Arrays.stream(new RandomDateGenerator(LocalDate.of(1800, 1, 1), LocalDate.of(2300, 1, 1), 3L)
+                .epochDays(10_000)).mapToInt(day -> (int) day).toArray();
+        try (DateStore store = DateStore.allocateDirect(1000)) {
+            assertFalse(store.isMapped());
+            for (int day : days) {
+                store.add(day);
+            }
+            assertEquals(days.length, store.size());
+            assertEquals(days[1024], store.get(1024));
+            assertEquals(LocalDate.ofEpochDay(days[5000]), store.getDate(5000));
+            assertArrayEquals(Arrays.copyOfRange(days, 1000, 3000), store.toColumn(1000, 2000).toArray());
+            store.sort();
+            int[] sorted = days.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(sorted, store.toColumn(0, days.length).toArray());
+            store.set(0, 7);
+            assertEquals(7, store.get(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(days.length));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.toColumn(9000, 1001));
+            assertThrows(ArithmeticException.class, () -> store.add(LocalDate.MIN));
+            assertEquals(days.length, store.size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> DateStore.allocateDirect(0));
+    }
+
+
+    /**
+     * <b>Tests that a mapped store is sorted in a single pass and reopened with its dates.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void mappedTest(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("dates.bin");
+        String[] texts = {"20220601", "19991231", "not a date", "20000229", "19700101"};
+        try (DateStore store = DateStore.create(file, 2)) {
+            assertTrue(store.isMapped());
+            BitSet added = store.addAll(texts, "yyyyMMdd");
+            assertEquals(4, added.cardinality());
+            store.add(LocalDate.of(2010, 1, 1));
+            store.sort();
+        }
+        try (DateStore store = DateStore.open(file)) {
+            assertEquals(5, store.size());
+            StringBuilder dates = new StringBuilder();
+            store.forEach(day -> dates.append(LocalDate.ofEpochDay(day)).append(' '));
+            assertEquals("1970-01-01 1999-12-31 2000-02-29 2010-01-01 2022-06-01 ", dates.toString());
+            store.add(0);
+        }
+        try (DateStore store = DateStore.open(file)) {
+            assertEquals(6, store.size());
+            assertEquals(0, store.get(5));
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+        Path other = dir.resolve("other.bin");
+        Files.write(other, new byte[64]);
+        assertThrows(IOException.class, () -> DateStore.open(other));
+    }
+
+
+    /**
+     * <b>Tests that a scratch file that can't be deleted doesn't fail the sort.</b><br>
+     * A directory that isn't empty can't be deleted, as a mapped file on Windows.
+     * @since 3.1.0
+     */
+    @Test
+    void deleteScratchTest(@TempDir Path dir) throws IOException {
+        Path scratch = Files.createDirectory(dir.resolve("scratch"));
+        Files.createFile(scratch.resolve("busy"));
+        assertDoesNotThrow(() -> DateStore.deleteScratch(scratch));
+        Path file = Files.createFile(dir.resolve("free.tmp"));
+        DateStore.deleteScratch(file);
+        assertFalse(Files.exists(file));
+    }
+}
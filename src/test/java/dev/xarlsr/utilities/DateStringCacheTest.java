@@ -0,0 +1,62 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateStringCacheTest {
+
+    /**
+     * <b>Tests hits, evictions and the bound of patterns.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void formatTest() {
+        DateStringCache cache = new DateStringCache(300, 1);
+        assertEquals(512, cache.capacity());
+        LocalDate date = LocalDate.of(2022, 6, 1);
+        String text = cache.format(date, DateUtils.ESP);
+        assertEquals("01/06/2022", text);
+        assertSame(text, cache.format(LocalDate.of(2022, 6, 1), DateUtils.ESP));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        // Same slot, 512 days later.
+        assertEquals("26/10/2023", cache.format(date.plusDays(512), DateUtils.ESP));
+        assertEquals(1, cache.evictions());
+        assertNotSame(text, cache.format(date, DateUtils.ESP));
+        // No room for a second pattern.
+        assertNotSame(cache.format(date, DateUtils.USA), cache.format(date, DateUtils.USA));
+        assertEquals("2022-06-01", cache.format(date, DateUtils.USA));
+        cache.clear();
+        assertEquals(0, cache.hits() + cache.misses() + cache.evictions());
+        assertThrows(IllegalArgumentException.class, () -> new DateStringCache(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DateStringCache(1, -1));
+    }
+
+
+    /**
+     * <b>Tests that the {@code dateToString} methods use the cache once it's set.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void dateUtilsTest() {
+        assertNull(DateUtils.dateStringCache());
+        LocalDate date = LocalDate.of(2022, 6, 1);
+        assertNotSame(DateUtils.dateToString(date, DateUtils.ESP), DateUtils.dateToString(date, DateUtils.ESP));
+        try {
+            DateStringCache cache = new DateStringCache();
+            DateUtils.setDateStringCache(cache);
+            String text = DateUtils.dateToString(date, DateUtils.ESP);
+            assertEquals("01/06/2022", text);
+            assertSame(text, DateUtils.dateToString(LocalDate.of(2022, 6, 1), DateUtils.ESP));
+            assertSame(text, cache.format(date, DateUtils.ESP));
+            String basic = DateUtils.dateToString(date);
+            assertEquals("20220601", basic);
+            assertSame(basic, DateUtils.dateToString(date));
+        } finally {
+            DateUtils.setDateStringCache(null);
+        }
+    }
+}
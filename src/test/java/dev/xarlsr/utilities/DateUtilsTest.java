@@ -5,9 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.BitSet;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DateUtilsTest {
@@ -201,6 +205,170 @@ public class DateUtilsTest {
     }
 
 
+    /**
+     * <b>Test the isValidDate(String, String) method</b><br>
+     * Built-in and custom formats are checked, and nothing must be written to the console.
+     * @param strDate Date to check.
+     * @param format Format of the date.
+     * @param expected Expected result.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2016-02-29, yyyy-MM-dd, true",
+            "2015-02-29, yyyy-MM-dd, false",
+            "31/06/2015, dd/MM/yyyy, false",
+            "30/06/2015, dd/MM/yyyy, true",
+            "300615, ddMMyy, true",
+            "20150630, ddMMyyyy, false",
+            "30.06.2015, dd.MM.yyyy, true",
+            "31.06.2015, dd.MM.yyyy, false",
+            "30-06-2015, dd.MM.yyyy, false",
+            "30 de junio de 2015, dd 'de' MMMM 'de' yyyy, false",
+            "30.06.2015, not a pattern {, false"
+    })
+    void isValidDateFormatTest(String strDate, String format, boolean expected) {
+        PrintStream backup = System.out;
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(console));
+        try {
+            assertEquals(expected, DateUtils.isValidDate(strDate, format));
+            assertEquals(expected, DateUtils.isValidDate(strDate, format));
+            if (format.equals("yyyyMMdd")) {
+                assertEquals(expected, DateUtils.isValidDate(strDate));
+            }
+        } finally {
+            System.setOut(backup);
+        }
+        assertEquals(0, console.size(), "isValidDate() wrote to the console");
+    }
+
+
+    /**
+     * <b>Test the validDates() bulk methods</b><br>
+     * The array is big enough to be checked in parallel, and the result must match isValidDate().
+     * @since 3.1.0
+     */
+    @Test
+    void validDatesTest() {
+        String[] dates = new String[200_003];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = i % 97 == 0 ? null : String.format("%02d/%02d/%04d", 1 + i % 31, 1 + i % 13, 1900 + i % 300);
+        }
+        BitSet valid = DateUtils.validDates(dates, DateUtils.ESP);
+        BitSet custom = DateUtils.validDates(Stream.of(dates).map(d -> d == null ? null : d.replace('/', '.')), "dd.MM.yyyy");
+        for (int i = 0; i < dates.length; i++) {
+            assertEquals(DateUtils.isValidDate(dates[i], DateUtils.ESP), valid.get(i), dates[i]);
+        }
+        assertEquals(valid, custom);
+        assertTrue(valid.cardinality() > 0);
+    }
+
+
+    /**
+     * <b>Test the parse(String, String) method with wrong dates</b><br>
+     * Every failure must report its kind and index, without console output, and be counted.
+     * @param strDate Date to parse.
+     * @param format Format of the date.
+     * @param error Expected kind of error.
+     * @param index Expected index of the error.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "2016-02-2, yyyy-MM-dd, WRONG_LENGTH, 9",
+            "2016/02/20, yyyy-MM-dd, WRONG_SEPARATOR, 4",
+            "20/0a/2016, dd/MM/yyyy, NOT_A_DIGIT, 4",
+            "20/13/2016, dd/MM/yyyy, MONTH_OUT_OF_RANGE, 3",
+            "32/12/2016, dd/MM/yyyy, DAY_OUT_OF_RANGE, 0",
+            "01/12/0000, dd/MM/yyyy, YEAR_OUT_OF_RANGE, 6",
+            "20.12-2016, dd.MM.yyyy, TEXT_MISMATCH, 5",
+            "'20.12.2016 ', dd.MM.yyyy, TEXT_MISMATCH, 10",
+            "20.13.2016, dd.MM.yyyy, MONTH_OUT_OF_RANGE, 0",
+            "12.2016, MM.yyyy, UNRESOLVED, 0",
+            "12.2016, MM.yyyy {, INVALID_PATTERN, 0"
+    })
+    void parseFailureTest(String strDate, String format, DateParseError error, int index) {
+        long before = DateUtils.parseFailureCount(error);
+        PrintStream backup = System.out;
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(console));
+        DateParseResult result;
+        try {
+            result = DateUtils.parse(strDate, format);
+        } finally {
+            System.setOut(backup);
+        }
+        assertFalse(result.isValid());
+        assertEquals(error, result.error());
+        assertEquals(index, result.errorIndex());
+        assertEquals(DateUtils.INVALID_EPOCH_DAY, result.epochDay());
+        assertThrows(IllegalStateException.class, result::date);
+        assertEquals(0, console.size(), "parse() wrote to the console");
+        assertTrue(DateUtils.parseFailureCount(error) > before);
+    }
+
+
+    /**
+     * <b>Test the parse() methods with valid dates</b><br>
+     * Results must match stringToDate(), which is built on them.
+     * @since 3.1.0
+     */
+    @Test
+    void parseTest() {
+        assertEquals(LocalDate.of(2015, 6, 30), DateUtils.parse("31/06/2015", DateUtils.ESP).date());
+        assertEquals(LocalDate.of(2015, 6, 30), DateUtils.parse("31.06.2015", "dd.MM.yyyy").date());
+        assertEquals(LocalDate.of(1900, 1, 1), DateUtils.parse("19000101").date());
+        assertEquals(DateParseError.DAY_OUT_OF_RANGE, DateUtils.parse("20150631").error());
+        assertEquals(DateParseError.NULL_INPUT, DateUtils.parse(null, DateUtils.USA).error());
+        assertEquals(LocalDate.of(2020, 3, 5), DateUtils.parse("x", DateUtils.BNK).orElse(LocalDate.of(2020, 3, 5)));
+        assertEquals(DateUtils.stringToDate("05/03/20", DateUtils.ESPS), DateUtils.parse("05/03/20", DateUtils.ESPS).date());
+        assertThrows(IllegalArgumentException.class, () -> DateUtils.stringToDate("12.2016", "MM.yyyy {"));
+    }
+
+
+    /**
+     * <b>Tests the texts rejected by the fast parser and accepted by <code>DateTimeFormatter</code>.</b><br>
+     * <code>stringToDate</code> must keep returning the dates it always returned for them.
+     * @since 3.1.0
+     */
+    @Test
+    void dateTimeFormatterFallbackTest() {
+        assertEquals(LocalDate.of(0, 1, 1), DateUtils.stringToDate("00000101"));
+        assertEquals(LocalDate.of(2020, 2, 16), DateUtils.stringToDate("20200216+0100"));
+        assertEquals(LocalDate.of(2020, 2, 16), DateUtils.parse("20200216+0100").date());
+        assertFalse(DateUtils.isValidDate("20200216+0100"));
+    }
+
+
+    /**
+     * <b>Test isValidDate() with patterns that have more fields than the date</b><br>
+     * Fields beyond year, month and day are cross-checked, and time fields are range checked.
+     * @since 3.1.0
+     */
+    @Test
+    void isValidDateOtherFieldsTest() {
+        assertTrue(DateUtils.isValidDate("2022-01-02 2", "yyyy-MM-dd D"));
+        assertFalse(DateUtils.isValidDate("2022-01-02 5", "yyyy-MM-dd D"));
+        assertTrue(DateUtils.isValidDate("2022-01-01 23:59", "yyyy-MM-dd HH:mm"));
+        assertFalse(DateUtils.isValidDate("2022-01-01 25:00", "yyyy-MM-dd HH:mm"));
+        assertFalse(DateUtils.isValidDate("2022-02-29 10:00", "yyyy-MM-dd HH:mm"));
+        assertEquals(2, DateUtils.validDates(new String[]{"2022-01-02 2", "2022-01-02 5", "2024-02-29 60"},
+                "yyyy-MM-dd D").cardinality());
+    }
+
+
+    /**
+     * <b>Test isValidDate() and validDates() with a null format</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void nullFormatTest() {
+        assertFalse(DateUtils.isValidDate("20220101", null));
+        assertTrue(DateUtils.validDates(new String[]{"20220101", null}, null).isEmpty());
+    }
+
+
     /**
      * <b>Test the generateRandomDate() method</b><br>
      * Every result is checked to be within the required interval and
@@ -0,0 +1,92 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatterCacheTest {
+
+    /**
+     * <b>Tests that built-in patterns are always hits and user patterns are compiled once.</b>
+     * @since 3.1.0
+     */
+    @Test
+    void hitsAndMissesTest() {
+        FormatterCache cache = new FormatterCache(4);
+        DateTimeFormatter esp = cache.get(DateUtils.ESP);
+        assertSame(esp, cache.get(DateUtils.ESP));
+        assertEquals(2, cache.hits());
+        assertEquals(0, cache.misses());
+        DateTimeFormatter custom = cache.get("dd.MM.yyyy");
+        assertSame(custom, cache.get("dd.MM.yyyy"));
+        assertEquals(3, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.size());
+    }
+
+
+    /**
+     * <b>Tests the eviction of the oldest user patterns when the capacity is exceeded.</b><br>
+     * Built-in patterns are never evicted.
+     * @since 3.1.0
+     */
+    @Test
+    void evictionTest() {
+        FormatterCache cache = new FormatterCache(2);
+        cache.get("dd.MM.yyyy");
+        cache.get("MM/dd/yyyy");
+        cache.get("yyyy.MM.dd");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        cache.get("MM/dd/yyyy");
+        cache.get("dd.MM.yyyy");
+        assertEquals(4, cache.misses());
+        cache.get(DateUtils.BNK);
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.hits());
+    }
+
+
+    /**
+     * Tests concurrent access: the capacity holds and every request is counted.
+     * @since 3.1.0
+     */
+    @Test
+    void concurrentTest() throws InterruptedException {
+        FormatterCache cache = new FormatterCache(8);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    assertNotNull(cache.get("dd-MM-yyyy '" + (i % 16) + "'"));
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(cache.size() <= 8);
+        assertEquals(4000, cache.hits() + cache.misses());
+    }
+
+
+    /**
+     * Tests that DateUtils uses the shared cache for its pattern-taking methods.
+     * Built-in formats are parsed without formatter, so a custom pattern is used.
+     * @since 3.1.0
+     */
+    @Test
+    void dateUtilsUsesCacheTest() {
+        DateUtils.stringToDate("31.01.2010", "dd.MM.yyyy");
+        long before = DateUtils.formatterCache().hits();
+        DateUtils.stringToDate("31.01.2010", "dd.MM.yyyy");
+        DateUtils.dateToString(DateUtils.stringToDate("20100131"), "dd.MM.yyyy");
+        assertTrue(DateUtils.formatterCache().hits() >= before + 2);
+    }
+}
@@ -0,0 +1,396 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputSessionTest {
+
+    /**
+     * Creates a session over a String, with a tiny buffer so lines cross buffer boundaries.
+     */
+    static InputSession session(String content) {
+        InputStream input = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        return new InputSession(input, 4);
+    }
+
+
+    /**
+     * <b>Tests that consecutive readString() calls don't lose read-ahead data.</b><br>
+     * Every line terminator ('\n', '\r' and "\r\n") is tested.
+     * @since 3.1.0
+     */
+    @Test
+    void readStringConsecutiveTest() throws Exception {
+        try (InputSession session = session("La gramola\r\nes lo que\rmola\n\nfin")) {
+            assertEquals("La gramola", session.readString());
+            assertEquals("es lo que", session.readString());
+            assertEquals("mola", session.readString());
+            assertEquals("", session.readString());
+            assertEquals("fin", session.readString());
+            assertNull(session.readString());
+        }
+    }
+
+
+    /**
+     * Tests the readInteger(), readDouble() and readChar() methods over the same session.
+     * @since 3.1.0
+     */
+    @Test
+    void readTypesTest() throws Exception {
+        try (InputSession session = session("1277\n345.78\nR\n-8\n")) {
+            assertEquals(1277, session.readInteger());
+            assertEquals(345.78, session.readDouble());
+            assertEquals('R', session.readChar());
+            assertEquals(-8, session.readInteger());
+            assertNull(session.readString());
+        }
+    }
+
+
+    /**
+     * Test with values not parseable to numbers, and reads past the end of the stream.
+     * @param testString Origin to be tested
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "Sebastian", "#:)", "3.1415"
+    })
+    void readIntegerExceptionTest(String testString) throws Exception {
+        try (InputSession session = session(testString)) {
+            assertThrows(NumberFormatException.class, session::readInteger);
+            assertThrows(NumberFormatException.class, session::readDouble);
+        }
+    }
+
+
+    /**
+     * Tests that non ASCII characters are decoded even when split between two buffer refills.
+     * @since 3.1.0
+     */
+    @Test
+    void readStringMultiByteTest() throws Exception {
+        InputStream input = new ByteArrayInputStream("ab€c\nñ".getBytes(StandardCharsets.UTF_8));
+        try (InputSession session = new InputSession(input, 3)) {
+            String expected = new String("ab€c".getBytes(StandardCharsets.UTF_8));
+            assertEquals(expected, session.readString());
+        }
+    }
+
+
+    /**
+     * <b>Tests the token parsers nextInt() and nextLong().</b><br>
+     * Wrong tokens are reported by tokenStatus() and skipped, without exceptions.
+     * @since 3.1.0
+     */
+    @Test
+    void nextTokenTest() throws Exception {
+        try (InputSession session = session("  23 -64\t0\r\n+1 9223372036854775807 -9223372036854775808 "
+                + "2147483648 3.14 - 99999999999999999999 7")) {
+            assertEquals(23, session.nextInt());
+            assertEquals(-64, session.nextInt());
+            assertEquals(0, session.nextInt());
+            assertEquals(1, session.nextInt());
+            assertEquals(InputSession.TokenStatus.OK, session.tokenStatus());
+            assertEquals(Long.MAX_VALUE, session.nextLong());
+            assertEquals(Long.MIN_VALUE, session.nextLong());
+            session.nextInt();
+            assertEquals(InputSession.TokenStatus.OVERFLOW, session.tokenStatus());
+            session.nextInt();
+            assertEquals(InputSession.TokenStatus.MALFORMED, session.tokenStatus());
+            session.nextInt();
+            assertEquals(InputSession.TokenStatus.MALFORMED, session.tokenStatus());
+            session.nextLong();
+            assertEquals(InputSession.TokenStatus.OVERFLOW, session.tokenStatus());
+            assertEquals(7, session.nextInt());
+            session.nextInt();
+            assertEquals(InputSession.TokenStatus.EOF, session.tokenStatus());
+        }
+    }
+
+
+    /**
+     * Tests mixing token and line reading: readString() returns the rest of the token's line.
+     * @since 3.1.0
+     */
+    @Test
+    void nextTokenAndLineTest() throws Exception {
+        try (InputSession session = session("12 texto libre\n4000000000\n")) {
+            assertEquals(12, session.nextInt());
+            assertEquals(" texto libre", session.readString());
+            assertEquals(4000000000L, session.readLong());
+        }
+    }
+
+
+    /**
+     * <b>Tests nextDouble() against Double.parseDouble().</b><br>
+     * Both the exact fast path and the fallback values, including the Java literals the fast path
+     * doesn't handle, must give the same result.
+     * @param testString Token to parse.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "1.20", "3.141562", "0.001", "3", "1.0658E12", "-0", "+2.5e-3",
+            "123456789012345678901234", "0.1000000000000000055511151231257827", "4.9E-324", "1e400",
+            "NaN", "-Infinity", "1e5d", "1.0f", "0x1.8p1"
+    })
+    void nextDoubleTest(String testString) throws Exception {
+        try (InputSession session = session(testString)) {
+            assertEquals(Double.parseDouble(testString), session.nextDouble());
+            assertEquals(InputSession.TokenStatus.OK, session.tokenStatus());
+        }
+    }
+
+
+    /**
+     * Tests nextDouble() with tokens that are not decimal numbers.
+     * @param testString Token to parse.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "Sebastian", "1.5.3", "1e", ".", "'2,5'", "nan", "1.0g", "0x"
+    })
+    void nextDoubleMalformedTest(String testString) throws Exception {
+        try (InputSession session = session(testString)) {
+            assertEquals(0, session.nextDouble());
+            assertEquals(InputSession.TokenStatus.MALFORMED, session.tokenStatus());
+        }
+    }
+
+
+    /**
+     * Tests the bulk array readers, with fixed count and until the end of the stream.
+     * @since 3.1.0
+     */
+    @Test
+    void readArraysTest() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append(i - 2500).append(i % 7 == 0 ? '\n' : ' ');
+        }
+        try (InputSession session = session(content.toString())) {
+            int[] first = session.readIntArray(10);
+            assertArrayEquals(new int[]{-2500, -2499, -2498, -2497, -2496, -2495, -2494, -2493, -2492, -2491}, first);
+            long[] rest = session.readLongArray();
+            assertEquals(4990, rest.length);
+            assertEquals(2499L, rest[rest.length - 1]);
+        }
+        try (InputSession session = session("1.5 2 -3e2")) {
+            assertArrayEquals(new double[]{1.5, 2, -300}, session.readDoubleArray(5));
+        }
+        assertThrows(NumberFormatException.class,
+                () -> ConsoleInput.readIntArray(new ByteArrayInputStream("1 2 tres".getBytes(StandardCharsets.UTF_8))));
+    }
+
+
+    /**
+     * Tests the IntStream, LongStream and DoubleStream views.
+     * @since 3.1.0
+     */
+    @Test
+    void primitiveStreamsTest() throws Exception {
+        try (InputSession session = session("1 2 3 4\n5")) {
+            assertEquals(15, session.ints().sum());
+        }
+        try (InputSession session = session("10000000000 -1")) {
+            assertEquals(9999999999L, session.longs().sum());
+        }
+        try (InputSession session = session("0.5 0.25")) {
+            assertEquals(0.75, session.doubles().sum());
+        }
+    }
+
+
+    /**
+     * <b>Tests a file session.</b><br>
+     * Tiny windows are used so lines and tokens cross from a mapped window to the next.
+     * @param dir Temporary directory for the test file.
+     * @since 3.1.0
+     */
+    @Test
+    void fileSessionTest(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("values.txt");
+        StringBuilder content = new StringBuilder("cabecera del fichero\r\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append(i * 1000L).append('\n');
+        }
+        content.append("2.5 fin");
+        Files.writeString(file, content);
+        try (InputSession session = new InputSession(file, 7)) {
+            assertEquals("cabecera del fichero", session.readString());
+            long[] values = session.readLongArray(1000);
+            assertEquals(1000, values.length);
+            assertEquals(999000L, values[999]);
+            assertEquals(2.5, session.nextDouble());
+            assertEquals(" fin", session.readString());
+            assertNull(session.readString());
+        }
+        try (InputSession session = new InputSession(file)) {
+            assertEquals("cabecera del fichero", session.readString());
+            assertEquals(499500000L, session.longs().limit(1000).sum());
+        }
+    }
+
+
+    /**
+     * <b>Tests the charset of the session, and the ASCII and Latin-1 fast paths.</b><br>
+     * Non ASCII bytes in an ASCII stream are replaced, as InputStreamReader does.
+     * @since 3.1.0
+     */
+    @Test
+    void charsetTest() throws Exception {
+        byte[] latin1 = "camión\n20220720\n".getBytes(StandardCharsets.ISO_8859_1);
+        try (InputSession session = new InputSession(new ByteArrayInputStream(latin1), 4, StandardCharsets.ISO_8859_1)) {
+            assertEquals("camión", session.readString());
+            assertEquals("20220720", session.readString());
+            assertEquals(StandardCharsets.ISO_8859_1, session.charset());
+        }
+        try (InputSession session = new InputSession(new ByteArrayInputStream(latin1), StandardCharsets.US_ASCII)) {
+            assertEquals("cami\uFFFDn", session.readString());
+        }
+        byte[] utf8 = "ñandú €\nascii".getBytes(StandardCharsets.UTF_8);
+        try (InputSession session = new InputSession(ByteBuffer.wrap(utf8), StandardCharsets.UTF_8)) {
+            assertEquals("ñandú €", session.readString());
+            assertEquals("ascii", session.readString());
+        }
+        byte[] cp1252 = "precio: 25 €".getBytes("windows-1252");
+        try (InputSession session = new InputSession(ByteBuffer.wrap(cp1252), Charset.forName("windows-1252"))) {
+            assertEquals("precio: 25 €", session.readString());
+        }
+    }
+
+
+    /**
+     * <b>Tests that read errors are thrown, not taken for the end of the stream.</b><br>
+     * The ConsoleInput wrappers keep printing the error and returning null.
+     * @since 3.1.0
+     */
+    @Test
+    void readErrorTest() throws Exception {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Disk on fire");
+            }
+        };
+        try (InputSession session = new InputSession(failing)) {
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, session::readString);
+            assertEquals("Disk on fire", e.getCause().getMessage());
+        }
+        assertNull(ConsoleInput.readString(failing, 10));
+        assertNull(ConsoleInput.readIntArray(failing));
+    }
+
+
+    /**
+     * <b>Tests that charsets whose lines can't be split on bytes are rejected.</b><br>
+     * UTF-16 uses the byte of '\n' inside other characters, and ISO-2022-JP switches its state
+     * with ASCII escape sequences.
+     * @since 3.1.0
+     */
+    @Test
+    void unsupportedCharsetTest() {
+        byte[] utf16 = "dos\nlineas".getBytes(StandardCharsets.UTF_16LE);
+        assertThrows(IllegalArgumentException.class,
+                () -> new InputSession(new ByteArrayInputStream(utf16), StandardCharsets.UTF_16LE));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InputSession(ByteBuffer.wrap(utf16), StandardCharsets.UTF_16));
+        Charset iso2022 = Charset.forName("ISO-2022-JP");
+        assertThrows(IllegalArgumentException.class,
+                () -> new InputSession(new ByteArrayInputStream(new byte[0]), iso2022));
+        assertFalse(InputSession.isSupported(Charset.forName("UTF-32")));
+        assertTrue(InputSession.isSupported(Charset.forName("ISO-8859-15")));
+    }
+
+
+    /**
+     * <b>Tests bounded line reading.</b><br>
+     * The rest of a long line is skipped and the next line is read whole; truncation is reported.
+     * @since 3.1.0
+     */
+    @Test
+    void readStringMaxLengthTest() throws Exception {
+        String longLine = "x".repeat(100_000);
+        try (InputSession session = session("La gramola es lo que mola\r\ncorta\n" + longLine + "\r\nfin")) {
+            assertEquals("La gramola", session.readString(10));
+            assertTrue(session.lastLineTruncated());
+            assertEquals("corta", session.readString(10));
+            assertFalse(session.lastLineTruncated());
+            assertEquals("", session.readString(0));
+            assertTrue(session.lastLineTruncated());
+            assertEquals("fin", session.readString());
+            assertNull(session.readString(10));
+        }
+        byte[] utf8 = "ñandú€€€\n".getBytes(StandardCharsets.UTF_8);
+        try (InputSession session = new InputSession(new ByteArrayInputStream(utf8), 2, StandardCharsets.UTF_8)) {
+            assertEquals("ñandú€", session.readString(6));
+            assertTrue(session.lastLineTruncated());
+        }
+    }
+
+
+    /**
+     * <b>Tests that a huge line without terminator is read in constant memory.</b><br>
+     * The stream generates 256 MB of bytes without storing them; reading must not fill the heap.
+     * @since 3.1.0
+     */
+    @Test
+    void readStringHugeLineTest() throws Exception {
+        long size = 1L << 28;
+        InputStream huge = new InputStream() {
+            long remaining = size;
+
+            @Override
+            public int read() {
+                return remaining-- > 0 ? 'a' : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int n = (int) Math.min(length, remaining);
+                Arrays.fill(bytes, offset, offset + n, (byte) 'a');
+                remaining -= n;
+                return n;
+            }
+        };
+        assertEquals("aaaaaaaaaa", ConsoleInput.readString(huge, 10));
+    }
+
+
+    /**
+     * <b>Tests the digit accumulation shared with RecordReader at the limits of both signs.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void appendDigitTest() {
+        long tenth = -922337203685477580L;
+        assertEquals(-12, InputSession.appendDigit(-1, 2, false));
+        assertEquals(-Long.MAX_VALUE, InputSession.appendDigit(tenth, 7, false));
+        assertEquals(InputSession.DIGIT_OVERFLOW, InputSession.appendDigit(tenth, 8, false));
+        assertEquals(Long.MIN_VALUE, InputSession.appendDigit(tenth, 8, true));
+        assertEquals(InputSession.DIGIT_OVERFLOW, InputSession.appendDigit(tenth, 9, true));
+        assertEquals(InputSession.DIGIT_OVERFLOW, InputSession.appendDigit(tenth - 1, 0, true));
+    }
+}
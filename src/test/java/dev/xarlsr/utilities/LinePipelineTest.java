@@ -0,0 +1,106 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinePipelineTest {
+
+    /**
+     * Returns a stream with the random dates of the generator in ESP format, one per line.
+     */
+    static InputStream dates(RandomDateGenerator generator, int count) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new DateDatasetWriter(generator, DateUtils.ESP).write(output, count);
+        return new ByteArrayInputStream(output.toByteArray());
+    }
+
+
+    /**
+     * <b>Tests that every line is processed once, whatever the batch size and workers.</b><br>
+     * Dates are converted by the workers and added up, and the metrics must match the input.
+     * @param batchSize Lines per batch.
+     * @param workers Number of workers.
+     * @param queueCapacity Capacity of the queue.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "1, 1, 1", "100, 4, 2", "1000, 3, 16", "7, 8, 1"
+    })
+    void runTest(int batchSize, int workers, int queueCapacity) throws Exception {
+        RandomDateGenerator generator = new RandomDateGenerator(LocalDate.of(2000, 1, 1), LocalDate.of(2030, 1, 1), 11L);
+        int count = 20000;
+        LongAdder sum = new LongAdder();
+        LinePipeline pipeline = new LinePipeline(batchSize, workers, queueCapacity);
+        PipelineMetrics metrics = pipeline.run(dates(generator, count),
+                line -> sum.add(DateUtils.toEpochDay(line, 0, line.length(), DateUtils.ESP)));
+        assertEquals(Arrays.stream(generator.epochDays(count)).sum(), sum.sum());
+        assertSame(metrics, pipeline.metrics());
+        assertEquals(count, metrics.linesRead());
+        assertEquals(count, metrics.linesProcessed());
+        assertEquals((count + batchSize - 1) / batchSize, metrics.batchesRead());
+        assertTrue(metrics.maxQueueDepth() <= queueCapacity);
+        assertEquals(0, metrics.queueDepth());
+        assertTrue(metrics.elapsedNanos() > 0);
+        assertTrue(metrics.linesPerSecond() > 0);
+    }
+
+
+    /**
+     * Tests that an exception of the action stops the reading and is thrown by run().
+     * @since 3.1.0
+     */
+    @Test
+    void failureTest() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            content.append(i).append('\n');
+        }
+        InputStream input = new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.US_ASCII));
+        AtomicInteger processed = new AtomicInteger();
+        LinePipeline pipeline = new LinePipeline(10, 2, 1);
+        assertThrows(NumberFormatException.class, () -> pipeline.run(input, line -> {
+            if (processed.incrementAndGet() == 500) {
+                Integer.parseInt("x" + line);
+            }
+        }));
+        assertTrue(pipeline.metrics().linesRead() < 100000);
+        assertThrows(IllegalArgumentException.class, () -> new LinePipeline(0, 1));
+    }
+
+
+    /**
+     * <b>Tests reading the lines in a given charset, supported by input sessions or not.</b><br>
+     * @param charsetName Charset used to encode and decode the lines.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({"UTF-8", "UTF-16", "Shift_JIS"})
+    void charsetTest(String charsetName) throws Exception {
+        Charset charset = Charset.forName(charsetName);
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("行 " + i + " データ");
+        }
+        InputStream input = new ByteArrayInputStream(String.join("\n", expected).getBytes(charset));
+        Set<String> lines = ConcurrentHashMap.newKeySet();
+        new LinePipeline(16, 3).run(input, charset, lines::add);
+        assertEquals(expected, lines);
+    }
+}
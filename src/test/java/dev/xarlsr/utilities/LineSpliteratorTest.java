@@ -0,0 +1,145 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineSpliteratorTest {
+
+    static final String[] TERMINATORS = {"\n", "\r\n", "\r"};
+
+    /**
+     * Builds the content of a test input: numbered lines, some empty, with mixed terminators.
+     */
+    static String content(List<String> lines, int count) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // An empty line after a lone '\r' would be read as "\r\n".
+            String line = i % 11 == 0 && i % 3 != 0 ? "" : "linea " + i + " 2022-06-" + (10 + i % 20);
+            lines.add(line);
+            content.append(line).append(TERMINATORS[i % TERMINATORS.length]);
+        }
+        return content.toString();
+    }
+
+
+    /**
+     * <b>Tests that a parallel stream over a file returns every line, in order.</b><br>
+     * Tiny split sizes and windows are used, so sections and lines cross window boundaries.
+     * @param minSplitSize Minimum section size.
+     * @param windowSize Size of the mapped windows.
+     * @param dir Temporary directory for the test file.
+     * @since 3.1.0
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "1, 7", "16, 64", "1000, 1000000", "1000000, 3"
+    })
+    void fileLinesTest(int minSplitSize, int windowSize, @TempDir Path dir) throws Exception {
+        List<String> expected = new ArrayList<>();
+        Path file = dir.resolve("lines.txt");
+        Files.writeString(file, content(expected, 5000) + "sin terminador");
+        expected.add("sin terminador");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            LineSpliterator spliterator = new LineSpliterator(channel, minSplitSize, windowSize);
+            List<String> lines = StreamSupport.stream(spliterator, true).collect(Collectors.toList());
+            assertEquals(expected, lines);
+        }
+        try (Stream<String> lines = LineSpliterator.lines(file, minSplitSize)) {
+            assertEquals(expected.size(), lines.parallel().count());
+        }
+    }
+
+
+    /**
+     * Tests splitting a buffer: the sections must cover the input without gaps nor overlaps.
+     * @since 3.1.0
+     */
+    @Test
+    void bufferSplitTest() {
+        List<String> expected = new ArrayList<>();
+        byte[] bytes = ("cabecera\n" + content(expected, 3000)).getBytes(StandardCharsets.US_ASCII);
+        expected.add(0, "cabecera");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 4);
+        buffer.put(new byte[]{'x', 'x'}).put(bytes).flip().position(2);
+        LineSpliterator spliterator = new LineSpliterator(buffer, 100);
+        Spliterator<String> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(bytes.length, prefix.estimateSize() + spliterator.estimateSize());
+        List<String> lines = new ArrayList<>();
+        prefix.forEachRemaining(lines::add);
+        spliterator.forEachRemaining(lines::add);
+        assertEquals(expected, lines);
+        assertEquals(2, buffer.position());
+        assertEquals(expected, LineSpliterator.lines(buffer).parallel().collect(Collectors.toList()));
+        assertNull(new LineSpliterator(ByteBuffer.wrap(new byte[150]), 100).trySplit());
+    }
+
+
+    /**
+     * Tests parsing a date column in parallel with the built-in parsers.
+     * @param dir Temporary directory for the test file.
+     * @since 3.1.0
+     */
+    @Test
+    void parallelDateColumnTest(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("dates.txt");
+        RandomDateGenerator generator = new RandomDateGenerator(LocalDate.of(2000, 1, 1),
+                LocalDate.of(2030, 1, 1), 5L);
+        new DateDatasetWriter(generator, DateUtils.ESP).write(file, 20000);
+        long expected = Arrays.stream(generator.epochDays(20000)).sum();
+        try (Stream<String> lines = LineSpliterator.lines(file, 4096)) {
+            assertEquals(expected, lines.parallel()
+                    .mapToLong(line -> DateUtils.toEpochDay(line, 0, line.length(), DateUtils.ESP))
+                    .sum());
+        }
+    }
+
+
+    /**
+     * <b>Tests that files and buffers decode the lines with the same given charset.</b><br>
+     * Charsets not supported by input sessions are rejected by both.
+     * @param dir Temporary directory for the test file.
+     * @since 3.1.0
+     */
+    @Test
+    void charsetTest(@TempDir Path dir) throws Exception {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add("línea " + i + " año €");
+        }
+        byte[] content = String.join("\n", expected).getBytes("windows-1252");
+        Path file = Files.write(dir.resolve("latin.txt"), content);
+        Charset charset = Charset.forName("windows-1252");
+        try (Stream<String> lines = LineSpliterator.lines(file, 256, charset)) {
+            assertEquals(expected, lines.parallel().collect(Collectors.toList()));
+        }
+        assertEquals(expected, LineSpliterator.lines(ByteBuffer.wrap(content), charset).collect(Collectors.toList()));
+        assertThrows(IllegalArgumentException.class, () -> LineSpliterator.lines(file, StandardCharsets.UTF_16));
+        assertThrows(IllegalArgumentException.class,
+                () -> LineSpliterator.lines(ByteBuffer.wrap(content), StandardCharsets.UTF_16));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new LineSpliterator(channel, 256, StandardCharsets.UTF_16));
+        }
+    }
+}
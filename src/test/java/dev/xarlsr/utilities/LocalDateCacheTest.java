@@ -0,0 +1,56 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalDateCacheTest {
+
+    /**
+     * <b>Tests that dates within the window are shared and the ones outside are not.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void getTest() {
+        LocalDateCache cache = new LocalDateCache(2000, 2001);
+        long first = LocalDate.of(2000, 1, 1).toEpochDay();
+        long last = LocalDate.of(2001, 12, 31).toEpochDay();
+        for (long day = first; day <= last; day++) {
+            LocalDate date = cache.get(day);
+            assertEquals(LocalDate.ofEpochDay(day), date);
+            assertSame(date, cache.get(day));
+        }
+        assertEquals(0, cache.outsideWindow());
+        assertEquals(LocalDate.of(1999, 12, 31), cache.get(first - 1));
+        assertNotSame(cache.get(last + 1), cache.get(last + 1));
+        assertEquals(3, cache.outsideWindow());
+        LocalDate date = LocalDate.of(2001, 6, 1);
+        assertSame(cache.get(date.toEpochDay()), cache.canonical(LocalDate.of(2001, 6, 1)));
+        assertThrows(IllegalArgumentException.class, () -> new LocalDateCache(2001, 2000));
+        assertThrows(IllegalArgumentException.class, () -> new LocalDateCache(0, 10_000));
+    }
+
+
+    /**
+     * <b>Tests that the parsing methods return canonical dates once the cache is set.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void dateUtilsTest() {
+        assertNull(DateUtils.localDateCache());
+        assertNotSame(DateUtils.stringToDate("01/06/2022", DateUtils.ESP),
+                DateUtils.stringToDate("01/06/2022", DateUtils.ESP));
+        try {
+            DateUtils.setLocalDateCache(new LocalDateCache());
+            LocalDate date = DateUtils.stringToDate("01/06/2022", DateUtils.ESP);
+            assertSame(date, DateUtils.stringToDate("2022-06-01", DateUtils.USA));
+            assertSame(date, DateUtils.stringToDate("20220601"));
+            assertSame(date, DateUtils.parseDate("x010622", 1, 6, DateUtils.BNKS));
+            assertSame(date, DateUtils.parse("01 de 06 de 2022", DateUtils.ESPL).date());
+        } finally {
+            DateUtils.setLocalDateCache(null);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixSortTest {
+
+    /**
+     * <b>Tests that negative days have lower digits than positive ones.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void digitTest() {
+        assertEquals(0x7F, RadixSort.digit(-1, 24, 8));
+        assertEquals(0x80, RadixSort.digit(0, 24, 8));
+        assertEquals(0xFFFF, RadixSort.digit(-1, 0, 16));
+        assertEquals(0x0102, RadixSort.digit(0x0102, 0, 16));
+    }
+
+
+    /**
+     * <b>Tests the offsets of the digits of several blocks, and the skipped passes.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void toOffsetsTest() {
+        long[][] counts = {{2, 0, 1}, {1, 3, 0}};
+        assertTrue(RadixSort.toOffsets(counts, 7));
+        assertArrayEquals(new long[]{0, 3, 6}, counts[0]);
+        assertArrayEquals(new long[]{2, 3, 7}, counts[1]);
+        assertFalse(RadixSort.toOffsets(new long[][]{{0, 5, 0}}, 5));
+        assertFalse(RadixSort.toOffsets(new long[][]{{0, 0}}, 0));
+    }
+}
@@ -0,0 +1,79 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomDateGeneratorTest {
+
+    static final LocalDate START = LocalDate.of(1990, 1, 1);
+    static final LocalDate END = LocalDate.of(2030, 1, 1);
+
+    /**
+     * <b>Tests that the dates only depend on the seed.</b><br>
+     * The array, the parallel array (over the threshold), the sequential and parallel streams
+     * must have the same dates in the same order.
+     * @since 3.1.0
+     */
+    @Test
+    void reproducibleTest() {
+        RandomDateGenerator generator = new RandomDateGenerator(START, END, 1234L);
+        int count = DateUtils.PARALLEL_THRESHOLD + 100;
+        long[] days = generator.epochDays(count);
+        assertArrayEquals(days, new RandomDateGenerator(START, END, 1234L).epochDays(count));
+        assertArrayEquals(days, generator.epochDayStream(count).toArray());
+        assertArrayEquals(days, generator.epochDayStream(count).parallel().toArray());
+        assertArrayEquals(days, DateUtils.generateRandomDates(START, END, 1234L, count));
+        assertEquals(LocalDate.ofEpochDay(days[count - 1]),
+                generator.dates(count).parallel().reduce((first, second) -> second).orElseThrow());
+        long[] section = new long[count + 10];
+        generator.fill(section, 10, count);
+        assertArrayEquals(days, Arrays.copyOfRange(section, 10, section.length));
+        assertFalse(Arrays.equals(days, new RandomDateGenerator(START, END, 4321L).epochDays(count)));
+        long start = START.toEpochDay();
+        long end = END.toEpochDay();
+        assertTrue(Arrays.stream(days).allMatch(day -> day >= start && day < end));
+    }
+
+
+    /**
+     * Tests the weekdays only and weighted by month distributions.
+     * @since 3.1.0
+     */
+    @Test
+    void distributionsTest() {
+        RandomDateGenerator generator = new RandomDateGenerator(START, END, 99L);
+        assertTrue(generator.weekdaysOnly().dates(20000)
+                .map(LocalDate::getDayOfWeek)
+                .noneMatch(day -> day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY));
+        int[] months = new int[13];
+        generator.withMonthWeights(0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 3)
+                .dates(20000)
+                .forEach(date -> months[date.getMonthValue()]++);
+        assertEquals(20000, months[6] + months[12]);
+        // December has 31 days and three times the weight of June, 30 days.
+        double ratio = (double) months[12] / months[6];
+        assertEquals(3.1, ratio, 0.2);
+    }
+
+
+    /**
+     * Tests the arguments that can't give any date.
+     * @since 3.1.0
+     */
+    @Test
+    void wrongArgumentsTest() {
+        assertThrows(IllegalArgumentException.class, () -> new RandomDateGenerator(END, START, 0L));
+        LocalDate saturday = LocalDate.of(2022, 6, 4);
+        RandomDateGenerator weekend = new RandomDateGenerator(saturday, saturday.plusDays(2), 0L);
+        assertThrows(IllegalArgumentException.class, weekend::weekdaysOnly);
+        RandomDateGenerator generator = new RandomDateGenerator(START, END, 0L);
+        assertThrows(IllegalArgumentException.class, () -> generator.withMonthWeights(1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> generator.withMonthWeights(new double[12]));
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.fill(new long[5], 2, 4));
+    }
+}
@@ -0,0 +1,108 @@
+package dev.xarlsr.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordReaderTest {
+
+    static final RecordSchema SCHEMA = new RecordSchema(';')
+            .withInt("id")
+            .withDate("fecha", DateUtils.ESP)
+            .withSkipped()
+            .withDouble("importe")
+            .withLong("cuenta")
+            .withString("concepto");
+
+    /**
+     * <b>Tests reading typed fields into columns, with rejected and empty lines.</b><br>
+     * A tiny session buffer is used, so records cross buffer refills.
+     * @since 3.1.0
+     */
+    @Test
+    void readTest() throws Exception {
+        String content = "1;20/12/2016;x;12.5;9000000000;Luz\r\n"
+                + " 2 ; 31/06/2021 ;;-0.25;-7;Agua;sobrante\n"
+                + "\n"
+                + "tres;01/01/2020;;1;1;Error\n"
+                + "4;2020-01-01;;1;1;Error\n"
+                + "5;01/01/2020;;1.5.2;1;Error\n"
+                + "6;01/01/2020;;1\n"
+                + "2147483648;01/01/2020;;1;1;Error\n"
+                + "7;29/02/2024;;1e3;9223372036854775807;Gas";
+        InputSession session = new InputSession(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), 4);
+        RecordReader reader = new RecordReader(session, SCHEMA);
+        RecordColumns columns = new RecordColumns(SCHEMA, 1);
+        assertEquals(3, reader.read(columns));
+        assertArrayEquals(new int[]{1, 2, 7}, columns.ints("id"));
+        assertArrayEquals(new int[]{(int) LocalDate.of(2016, 12, 20).toEpochDay(),
+                (int) LocalDate.of(2021, 6, 30).toEpochDay(), (int) LocalDate.of(2024, 2, 29).toEpochDay()},
+                columns.epochDays("fecha"));
+        assertArrayEquals(new double[]{12.5, -0.25, 1000}, columns.doubles("importe"));
+        assertArrayEquals(new long[]{9000000000L, -7, Long.MAX_VALUE}, columns.longs("cuenta"));
+        assertArrayEquals(new String[]{"Luz", "Agua", "Gas"}, columns.strings("concepto"));
+        assertEquals(9, reader.lineNumber());
+        assertEquals(5, reader.rejected());
+        assertEquals(8, reader.lastRejectedLine());
+        assertEquals(0, reader.lastRejectedField());
+        assertThrows(IllegalArgumentException.class, () -> columns.ints("fecha"));
+    }
+
+
+    /**
+     * Tests reading in blocks with the same buffers, after skipping a header.
+     * @since 3.1.0
+     */
+    @Test
+    void readBlocksTest() throws Exception {
+        RecordSchema schema = new RecordSchema(',').withInt("n").withDate("fecha", "yyyyMMdd");
+        StringBuilder content = new StringBuilder("n,fecha\n");
+        for (int i = 0; i < 2500; i++) {
+            content.append(i).append(',').append(DateUtils.dateToString(LocalDate.of(2000, 1, 1).plusDays(i))).append('\n');
+        }
+        try (InputSession session = new InputSession(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals("n,fecha", session.readString());
+            RecordReader reader = new RecordReader(session, schema);
+            RecordColumns columns = new RecordColumns(schema);
+            long total = 0;
+            int blocks = 0;
+            int read;
+            while ((read = reader.read(columns, 1000)) > 0) {
+                int[] n = columns.ints("n");
+                int[] days = columns.epochDays("fecha");
+                for (int i = 0; i < read; i++) {
+                    assertEquals(LocalDate.of(2000, 1, 1).plusDays(n[i]).toEpochDay(), days[i]);
+                }
+                total += read;
+                blocks++;
+                columns.clear();
+            }
+            assertEquals(2500, total);
+            assertEquals(3, blocks);
+            assertEquals(0, reader.rejected());
+        }
+        assertThrows(IllegalArgumentException.class, () -> schema.withDate("otra", "dd.MM.yyyy"));
+        assertThrows(IllegalArgumentException.class, () -> schema.withInt("n"));
+    }
+
+
+    /**
+     * <b>Tests that a rejected record leaves no String in the buffers.</b><br>
+     * @since 3.1.0
+     */
+    @Test
+    void rejectedStringTest() {
+        RecordSchema schema = new RecordSchema(';').withString("nombre").withInt("edad");
+        InputSession session = new InputSession(new ByteArrayInputStream("Ana;30\nLuis;x".getBytes(StandardCharsets.UTF_8)));
+        RecordReader reader = new RecordReader(session, schema);
+        RecordColumns columns = new RecordColumns(schema, 4);
+        assertEquals(1, reader.read(columns));
+        assertEquals(1, reader.rejected());
+        assertArrayEquals(new String[]{"Ana"}, columns.strings("nombre"));
+        assertNull(((String[]) columns.column(0))[1]);
+    }
+}